@@ -0,0 +1,49 @@
+package com.example.rqchallenge.employees;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic rosters of any size shaped like the upstream data: string-typed salaries and ages, names drawn
+ * from a small vocabulary so searches have realistic selectivity, and one malformed salary in a thousand.
+ */
+public final class SyntheticRoster {
+
+    private static final String[] FIRST_NAMES = {
+            "Tiger", "Garrett", "Ashton", "Cedric", "Airi", "Brielle", "Herrod", "Rhona", "Colleen", "Sonya",
+            "Jena", "Quinn", "Charde", "Haley", "Tatyana", "Michael", "Paul", "Gloria", "Bradley", "Dai"};
+    private static final String[] LAST_NAMES = {
+            "Nixon", "Winters", "Cox", "Kelly", "Satou", "Williamson", "Chandler", "Davidson", "Hurst", "Frost",
+            "Gaines", "Flynn", "Marshall", "Kennedy", "Fitzpatrick", "Silva", "Byrd", "Little", "Greer", "Rios"};
+
+    private SyntheticRoster() {
+    }
+
+    public static List<Employee> employees(int size) {
+        Random random = new Random(size);
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String salary = i % 1000 == 0 ? "n/a" : String.valueOf(20_000 + random.nextInt(480_000));
+            String age = String.valueOf(18 + random.nextInt(50));
+            employees.add(new Employee(String.valueOf(i), name, salary, age, ""));
+        }
+        return employees;
+    }
+
+    /**
+     * @return the roster wrapped in the upstream {@code /employees} envelope and serialized to JSON
+     */
+    public static byte[] responseBody(List<Employee> employees, ObjectMapper objectMapper) throws IOException {
+        EmployeeResponse response = new EmployeeResponse();
+        response.setStatus("success");
+        response.setData(employees);
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
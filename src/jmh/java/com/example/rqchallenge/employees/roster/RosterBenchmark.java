@@ -0,0 +1,91 @@
+package com.example.rqchallenge.employees.roster;
+
+import com.example.rqchallenge.employees.SyntheticRoster;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeAnalytics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of one roster version with its indexes already built, plus the one-off cost of ingesting a new
+ * version and building those indexes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RosterBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int rosterSize;
+
+    private List<Employee> employees;
+    private RosterSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = SyntheticRoster.employees(rosterSize);
+        snapshot = new RosterSnapshot(1, employees, System.nanoTime());
+        snapshot.getNameIndex();
+        snapshot.getSalaryIndex();
+        snapshot.getSortedView(SortKey.SALARY, true);
+    }
+
+    @Benchmark
+    public List<Employee> searchByName() {
+        return snapshot.getNameIndex().search("williamson");
+    }
+
+    @Benchmark
+    public List<Employee> searchByShortName() {
+        return snapshot.getNameIndex().search("ai");
+    }
+
+    @Benchmark
+    public int highestSalary() {
+        return snapshot.getSalaryIndex().getHighestSalary();
+    }
+
+    @Benchmark
+    public List<String> topTenEarnerNames() {
+        return snapshot.getSalaryIndex().getTopEarnerNames(10);
+    }
+
+    @Benchmark
+    public List<Employee> firstPageBySalary() {
+        return snapshot.getSortedView(SortKey.SALARY, true).slice(0, 50);
+    }
+
+    @Benchmark
+    public EmployeeAnalytics analyticsSequential() {
+        return RosterAnalytics.compute(snapshot.getRecords(), snapshot.getSalaryIndex(), snapshot.getQuarantinedCount(), 25000, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public EmployeeAnalytics analyticsParallel() {
+        return RosterAnalytics.compute(snapshot.getRecords(), snapshot.getSalaryIndex(), snapshot.getQuarantinedCount(), 25000, 0);
+    }
+
+    @Benchmark
+    public RosterSnapshot ingestAndIndex() {
+        RosterSnapshot ingested = new RosterSnapshot(2, employees, System.nanoTime());
+        ingested.getSalaryIndex();
+        ingested.getNameIndex();
+        return ingested;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.config.EmployeeProperties;
+import com.example.rqchallenge.employees.SyntheticRoster;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeQuery;
+import com.example.rqchallenge.employees.model.EmployeeResponse;
+import com.example.rqchallenge.employees.model.EmployeeResponseSingle;
+import com.example.rqchallenge.employees.model.SalaryLeaders;
+import com.example.rqchallenge.employees.roster.EmployeeCache;
+import com.example.rqchallenge.employees.roster.RosterCache;
+import com.example.rqchallenge.employees.upstream.EmployeeClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EmployeeServiceImpl} end to end with the upstream replaced by an in-memory roster, so only the service's
+ * own work is measured: snapshot lookup, indexes, paging and the response entities around them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int rosterSize;
+
+    private EmployeeServiceImpl employeeService;
+    private EmployeeQuery firstPageBySalary;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EmployeeProperties properties = new EmployeeProperties();
+        properties.getRoster().setTtl(Duration.ofDays(1));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeClient employeeClient = new InMemoryEmployeeClient(SyntheticRoster.employees(rosterSize));
+        EmployeeCache employeeCache = new EmployeeCache(properties, meterRegistry);
+        RosterCache rosterCache = new RosterCache(employeeClient, employeeCache, properties, meterRegistry);
+        employeeService = new EmployeeServiceImpl(employeeClient, rosterCache, employeeCache, properties, meterRegistry);
+
+        firstPageBySalary = new EmployeeQuery();
+        firstPageBySalary.setSort("salary,desc");
+        firstPageBySalary.setSize(50);
+        employeeService.getAllEmployees().join();
+    }
+
+    @Benchmark
+    public ResponseEntity<List<Employee>> searchByName() {
+        return employeeService.getEmployeesByNameSearch("williamson").join();
+    }
+
+    @Benchmark
+    public ResponseEntity<Integer> highestSalary() {
+        return employeeService.getHighestSalaryOfEmployees().join();
+    }
+
+    @Benchmark
+    public ResponseEntity<List<String>> topTenEarnerNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames().join();
+    }
+
+    @Benchmark
+    public ResponseEntity<List<Employee>> firstPageBySalary() {
+        return employeeService.getEmployees(firstPageBySalary).join();
+    }
+
+    private static final class InMemoryEmployeeClient implements EmployeeClient {
+
+        private final EmployeeResponse roster = new EmployeeResponse();
+
+        InMemoryEmployeeClient(List<Employee> employees) {
+            roster.setStatus("success");
+            roster.setData(employees);
+        }
+
+        @Override
+        public CompletableFuture<ResponseEntity<EmployeeResponse>> getEmployees() {
+            return CompletableFuture.completedFuture(new ResponseEntity<>(roster, HttpStatus.OK));
+        }
+
+        @Override
+        public CompletableFuture<SalaryLeaders> getSalaryLeaders(int limit) {
+            return CompletableFuture.failedFuture(new UnsupportedOperationException("aggregates are served from the snapshot"));
+        }
+
+        @Override
+        public CompletableFuture<ResponseEntity<EmployeeResponseSingle>> getEmployee(String id) {
+            return CompletableFuture.failedFuture(new UnsupportedOperationException("not benchmarked"));
+        }
+
+        @Override
+        public CompletableFuture<ResponseEntity<Map<String, Object>>> createEmployee(Map<String, Object> employeeInput) {
+            return CompletableFuture.failedFuture(new UnsupportedOperationException("not benchmarked"));
+        }
+
+        @Override
+        public CompletableFuture<ResponseEntity<Map<String, Object>>> deleteEmployee(String id) {
+            return CompletableFuture.failedFuture(new UnsupportedOperationException("not benchmarked"));
+        }
+    }
+}
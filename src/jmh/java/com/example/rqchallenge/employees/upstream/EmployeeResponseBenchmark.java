@@ -0,0 +1,73 @@
+package com.example.rqchallenge.employees.upstream;
+
+import com.example.rqchallenge.employees.SyntheticRoster;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeResponse;
+import com.example.rqchallenge.employees.model.SalaryLeaders;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON cost of the {@code /employees} payload: binding the upstream body to {@link EmployeeResponse}, reducing it
+ * to salary leaders while streaming, and writing the roster back out as our own response. The mapper is built the
+ * way Spring Boot builds the application's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EmployeeResponseBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int rosterSize;
+
+    private List<Employee> employees;
+    private byte[] body;
+    private ObjectReader responseReader;
+    private ObjectWriter employeesWriter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        employees = SyntheticRoster.employees(rosterSize);
+        body = SyntheticRoster.responseBody(employees, objectMapper);
+        responseReader = objectMapper.readerFor(EmployeeResponse.class);
+        employeesWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Employee.class));
+    }
+
+    @Benchmark
+    public EmployeeResponse readEmployeeResponse() throws IOException {
+        return responseReader.readValue(body);
+    }
+
+    @Benchmark
+    public SalaryLeaders streamSalaryLeaders() throws IOException {
+        return SalaryLeadersParser.parse(new ByteArrayInputStream(body), 10);
+    }
+
+    @Benchmark
+    public byte[] writeEmployees() throws IOException {
+        return employeesWriter.writeValueAsBytes(employees);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.rqchallenge.load;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the real application against a {@link StubUpstream} and drives every endpoint concurrently, then prints
+ * throughput and latency percentiles per endpoint. Tuned with {@code load.*} system properties, e.g.
+ * {@code ./gradlew loadTest -Pload.latency=50ms -Pload.error-rate=0.05 -Pload.rate=500}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "logging.level.com.example.rqchallenge=WARN")
+class EmployeeLoadTest {
+
+    private static final String EMPLOYEE_INPUT = "{\"name\":\"Load Test\",\"salary\":\"50000\",\"age\":\"30\"}";
+    private static final String[] NAME_FRAGMENTS = {"ni", "son", "Kelly", "airi", "ton w", "xyz"};
+
+    private static final StubUpstream upstream = startUpstream();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("employees.upstream.base-url", upstream::getBaseUrl);
+        registry.add("employees.upstream.client", () -> setting("client", "blocking"));
+        registry.add("employees.rate-limit.rate", () -> setting("upstream-rate", "0"));
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.close();
+    }
+
+    @Test
+    void reportsThroughputAndLatencyPerEndpoint() throws InterruptedException {
+        String employees = "http://localhost:" + port + "/employees";
+        LoadDriver driver = new LoadDriver(List.of(
+                new LoadDriver.Endpoint("list", 10, get(() -> employees)),
+                new LoadDriver.Endpoint("list page", 10, get(() -> employees + "?page=" + random(20) + "&size=50&sort=salary,desc&fields=id,employee_name")),
+                new LoadDriver.Endpoint("list ndjson", 2, () -> HttpRequest.newBuilder(URI.create(employees)).header("Accept", "application/x-ndjson").build()),
+                new LoadDriver.Endpoint("search", 15, get(() -> employees + "/search/" + NAME_FRAGMENTS[random(NAME_FRAGMENTS.length)].replace(" ", "%20"))),
+                new LoadDriver.Endpoint("by id", 25, get(() -> employees + "/" + (1 + random(upstream.getInitialSize())))),
+                new LoadDriver.Endpoint("by ids", 5, get(() -> employees + "/by-ids?ids=" + (1 + random(upstream.getInitialSize())) + "," + (1 + random(upstream.getInitialSize())))),
+                new LoadDriver.Endpoint("highest salary", 10, get(() -> employees + "/highestSalary")),
+                new LoadDriver.Endpoint("top ten", 10, get(() -> employees + "/topTenHighestEarningEmployeeNames")),
+                new LoadDriver.Endpoint("create", 4, withBody("POST", () -> employees, () -> EMPLOYEE_INPUT)),
+                new LoadDriver.Endpoint("delete", 4, () -> HttpRequest.newBuilder(URI.create(employees + "/" + upstream.randomCreatedId())).DELETE().build()),
+                new LoadDriver.Endpoint("batch create", 1, withBody("POST", () -> employees + "/batch", () -> "[" + EMPLOYEE_INPUT + "," + EMPLOYEE_INPUT + "]")),
+                new LoadDriver.Endpoint("batch delete", 1, withBody("DELETE", () -> employees + "/batch",
+                        () -> "[\"" + upstream.randomCreatedId() + "\",\"" + upstream.randomCreatedId() + "\"]"))));
+
+        Duration duration = DurationStyle.detectAndParse(setting("duration", "20s"));
+        Map<String, LoadDriver.EndpointStats> results = driver.run(
+                Integer.parseInt(setting("concurrency", "32")),
+                Double.parseDouble(setting("rate", "0")),
+                DurationStyle.detectAndParse(setting("warmup", "5s")),
+                duration);
+
+        System.out.println(LoadDriver.report(results, duration));
+        System.out.println("Upstream requests: " + upstream.getRequestCounts());
+        results.forEach((name, stats) -> {
+            assertTrue(stats.getCount() > 0, name + " was never exercised");
+            assertEquals(0, stats.getStatusCount(500), name + " answered with unhandled errors");
+            assertEquals(0, stats.getStatusCount(LoadDriver.EndpointStats.CONNECTION_ERROR), name + " failed to connect");
+        });
+    }
+
+    private static StubUpstream startUpstream() {
+        try {
+            return new StubUpstream(
+                    Integer.parseInt(setting("roster-size", "5000")),
+                    DurationStyle.detectAndParse(setting("latency", "20ms")),
+                    DurationStyle.detectAndParse(setting("jitter", "20ms")),
+                    Double.parseDouble(setting("error-rate", "0.01")),
+                    Double.parseDouble(setting("throttle-rate", "0.01")));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String setting(String name, String defaultValue) {
+        return System.getProperty("load." + name, defaultValue);
+    }
+
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    private static Supplier<HttpRequest> get(Supplier<String> url) {
+        return () -> HttpRequest.newBuilder(URI.create(url.get())).header("Accept", "application/json").build();
+    }
+
+    private static Supplier<HttpRequest> withBody(String method, Supplier<String> url, Supplier<String> body) {
+        return () -> HttpRequest.newBuilder(URI.create(url.get()))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body.get()))
+                .build();
+    }
+}
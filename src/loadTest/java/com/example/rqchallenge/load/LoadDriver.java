@@ -0,0 +1,185 @@
+package com.example.rqchallenge.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Drives weighted traffic at the application from a fixed set of workers and records latency per endpoint.
+ * <p>
+ * With a target rate the workers follow a fixed schedule and latency is measured from each request's intended
+ * start, so a stalled response is also charged to the requests that should have been sent meanwhile. Without
+ * one they run closed-loop, back to back, which measures capacity but understates tail latency.
+ */
+final class LoadDriver {
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final List<Endpoint> endpoints;
+    private final int totalWeight;
+
+    LoadDriver(List<Endpoint> endpoints) {
+        this.endpoints = endpoints;
+        this.totalWeight = endpoints.stream().mapToInt(Endpoint::getWeight).sum();
+    }
+
+    /**
+     * Runs a discarded warm-up phase and then a measured one.
+     *
+     * @param ratePerSecond total requests per second across all workers, or 0 to run closed-loop
+     */
+    Map<String, EndpointStats> run(int concurrency, double ratePerSecond, Duration warmup, Duration duration) throws InterruptedException {
+        runPhase(concurrency, ratePerSecond, warmup);
+        return runPhase(concurrency, ratePerSecond, duration);
+    }
+
+    private Map<String, EndpointStats> runPhase(int concurrency, double ratePerSecond, Duration duration) throws InterruptedException {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        endpoints.forEach(endpoint -> stats.put(endpoint.getName(), new EndpointStats()));
+        long intervalNanos = ratePerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(concurrency) / ratePerSecond) : 0;
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        List<Thread> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            long firstStart = start + intervalNanos * i / concurrency;
+            Thread worker = new Thread(() -> work(stats, firstStart, intervalNanos, deadline), "load-" + i);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return stats;
+    }
+
+    private void work(Map<String, EndpointStats> stats, long firstStart, long intervalNanos, long deadline) {
+        long nextStart = firstStart;
+        while (true) {
+            long intendedStart = intervalNanos > 0 ? nextStart : System.nanoTime();
+            if (intendedStart >= deadline) {
+                return;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            nextStart += intervalNanos;
+
+            Endpoint endpoint = pick();
+            int status;
+            try {
+                status = httpClient.send(endpoint.newRequest(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = EndpointStats.CONNECTION_ERROR;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            stats.get(endpoint.getName()).record(System.nanoTime() - intendedStart, status);
+        }
+    }
+
+    private Endpoint pick() {
+        int draw = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints) {
+            draw -= endpoint.getWeight();
+            if (draw < 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalStateException("weights changed while running");
+    }
+
+    static String report(Map<String, EndpointStats> results, Duration duration) {
+        StringBuilder report = new StringBuilder(String.format("%-16s %9s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "statuses"));
+        double seconds = duration.toNanos() / 1e9;
+        results.forEach((name, stats) -> {
+            Histogram latency = stats.getLatency();
+            report.append(String.format("%-16s %9d %9.1f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    name, stats.getCount(), stats.getCount() / seconds,
+                    latency.getValueAtPercentile(50) / 1000.0, latency.getValueAtPercentile(99) / 1000.0,
+                    latency.getValueAtPercentile(99.9) / 1000.0, latency.getMaxValue() / 1000.0,
+                    stats.getStatusCounts()));
+        });
+        return report.toString();
+    }
+
+    static final class Endpoint {
+        private final String name;
+        private final int weight;
+        private final Supplier<HttpRequest> requests;
+
+        Endpoint(String name, int weight, Supplier<HttpRequest> requests) {
+            this.name = name;
+            this.weight = weight;
+            this.requests = requests;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        int getWeight() {
+            return weight;
+        }
+
+        HttpRequest newRequest() {
+            return requests.get();
+        }
+    }
+
+    /**
+     * Latency in microseconds and response counts by status for one endpoint; connection failures count as status 0.
+     */
+    static final class EndpointStats {
+        static final int CONNECTION_ERROR = 0;
+
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+
+        void record(long latencyNanos, int status) {
+            latency.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+            statusCounts.computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+
+        Histogram getLatency() {
+            return latency;
+        }
+
+        long getCount() {
+            return latency.getTotalCount();
+        }
+
+        long getStatusCount(int status) {
+            LongAdder count = statusCounts.get(status);
+            return count == null ? 0 : count.sum();
+        }
+
+        Map<Integer, Long> getStatusCounts() {
+            Map<Integer, Long> counts = new TreeMap<>();
+            statusCounts.forEach((status, count) -> counts.put(status, count.sum()));
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.rqchallenge.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process stand-in for the upstream employee API, speaking the same routes and envelopes. Every response is
+ * delayed by {@code latency} plus up to {@code jitter}, then a fraction {@code errorRate} of requests fail with 503
+ * and a fraction {@code throttleRate} with 429, before the request is otherwise served from an in-memory roster.
+ */
+final class StubUpstream implements AutoCloseable {
+
+    private static final String[] FIRST_NAMES = {"Tiger", "Garrett", "Ashton", "Cedric", "Airi", "Brielle", "Herrod", "Rhona", "Colleen", "Sonya"};
+    private static final String[] LAST_NAMES = {"Nixon", "Winters", "Cox", "Kelly", "Satou", "Williamson", "Chandler", "Davidson", "Hurst", "Frost"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentNavigableMap<Integer, Map<String, String>> roster = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> requestCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId;
+    private final int initialSize;
+    private final Duration latency;
+    private final Duration jitter;
+    private final double errorRate;
+    private final double throttleRate;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final HttpServer server;
+    private byte[] rosterBody;
+
+    StubUpstream(int rosterSize, Duration latency, Duration jitter, double errorRate, double throttleRate) throws IOException {
+        Random random = new Random(rosterSize);
+        for (int id = 1; id <= rosterSize; id++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            roster.put(id, employee(id, name, String.valueOf(20_000 + random.nextInt(480_000)), String.valueOf(18 + random.nextInt(50))));
+        }
+        this.nextId = new AtomicInteger(rosterSize + 1);
+        this.initialSize = rosterSize;
+        this.latency = latency;
+        this.jitter = jitter;
+        this.errorRate = errorRate;
+        this.throttleRate = throttleRate;
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 256);
+        server.createContext("/api/v1/employees", exchange -> handle(exchange, "GET /employees", () -> respond(exchange, 200, rosterBody())));
+        server.createContext("/api/v1/employee/", exchange -> handle(exchange, "GET /employee/{id}", () -> getEmployee(exchange)));
+        server.createContext("/api/v1/create", exchange -> handle(exchange, "POST /create", () -> createEmployee(exchange)));
+        server.createContext("/api/v1/delete/", exchange -> handle(exchange, "DELETE /delete/{id}", () -> deleteEmployee(exchange)));
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/api/v1";
+    }
+
+    int getInitialSize() {
+        return initialSize;
+    }
+
+    /**
+     * @return the id of an employee created through the stub since it started, or of one that never existed if none was
+     */
+    String randomCreatedId() {
+        Integer id = roster.ceilingKey(initialSize + 1 + ThreadLocalRandom.current().nextInt(Math.max(1, nextId.get() - initialSize - 1)));
+        return String.valueOf(id == null ? nextId.get() : id);
+    }
+
+    Map<String, Long> getRequestCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        requestCounts.forEach((route, count) -> counts.put(route, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange, String route, Handler handler) throws IOException {
+        requestCounts.computeIfAbsent(route, key -> new LongAdder()).increment();
+        try {
+            exchange.getRequestBody().readAllBytes();
+            long delayNanos = latency.toNanos() + (jitter.isZero() ? 0 : ThreadLocalRandom.current().nextLong(jitter.toNanos()));
+            TimeUnit.NANOSECONDS.sleep(delayNanos);
+
+            double draw = ThreadLocalRandom.current().nextDouble();
+            if (draw < errorRate) {
+                respond(exchange, 503, "{\"message\":\"Service Unavailable\"}".getBytes(StandardCharsets.UTF_8));
+            } else if (draw < errorRate + throttleRate) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                respond(exchange, 429, "{\"message\":\"Too Many Requests\"}".getBytes(StandardCharsets.UTF_8));
+            } else {
+                handler.handle();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void getEmployee(HttpExchange exchange) throws IOException {
+        Map<String, String> employee = roster.get(idOf(exchange));
+        if (employee == null) {
+            respond(exchange, 404, "{\"message\":\"Not Found\"}".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        respond(exchange, 200, objectMapper.writeValueAsBytes(Map.of("status", "success", "data", employee)));
+    }
+
+    private void createEmployee(HttpExchange exchange) throws IOException {
+        // The request body was drained by handle(), so the stub echoes a fixed employee under a fresh id.
+        int id = nextId.getAndIncrement();
+        synchronized (this) {
+            roster.put(id, employee(id, "Load Test", "50000", "30"));
+            rosterBody = null;
+        }
+        Map<String, Object> data = Map.of("name", "Load Test", "salary", "50000", "age", "30", "id", id);
+        respond(exchange, 200, objectMapper.writeValueAsBytes(Map.of("status", "success", "data", data)));
+    }
+
+    private void deleteEmployee(HttpExchange exchange) throws IOException {
+        synchronized (this) {
+            if (roster.remove(idOf(exchange)) != null) {
+                rosterBody = null;
+            }
+        }
+        respond(exchange, 200, "{\"status\":\"success\",\"message\":\"successfully! deleted Record\"}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private synchronized byte[] rosterBody() throws IOException {
+        byte[] body = rosterBody;
+        if (body == null) {
+            List<Map<String, String>> employees = new ArrayList<>(roster.values());
+            body = objectMapper.writeValueAsBytes(Map.of("status", "success", "data", employees));
+            rosterBody = body;
+        }
+        return body;
+    }
+
+    private static int idOf(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        try {
+            return Integer.parseInt(path.substring(path.lastIndexOf('/') + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Map<String, String> employee(int id, String name, String salary, String age) {
+        Map<String, String> employee = new LinkedHashMap<>();
+        employee.put("id", String.valueOf(id));
+        employee.put("employee_name", name);
+        employee.put("employee_salary", salary);
+        employee.put("employee_age", age);
+        employee.put("profile_image", "");
+        return employee;
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle() throws IOException;
+    }
+}
@@ -1,14 +1,83 @@
 package com.example.rqchallenge.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
 @Configuration
+@EnableConfigurationProperties(EmployeeProperties.class)
 public class AppConfig {
 
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager upstreamConnectionManager(EmployeeProperties properties) {
+        EmployeeProperties.Http http = properties.getHttp();
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(http.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(http.getMaxConnectionsPerRoute());
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient upstreamHttpClient(PoolingHttpClientConnectionManager upstreamConnectionManager, EmployeeProperties properties) {
+        EmployeeProperties.Http http = properties.getHttp();
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) http.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) http.getReadTimeout().toMillis())
+                .setConnectionRequestTimeout((int) http.getPoolAcquireTimeout().toMillis())
+                .build();
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+            long advertised = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return advertised > 0 ? advertised : http.getKeepAlive().toMillis();
+        };
+
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(upstreamConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .evictExpiredConnections()
+                .evictIdleConnections(http.getMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS);
+        if (!http.isCompression()) {
+            builder.disableContentCompression();
+        }
+        return builder.build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient upstreamHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(upstreamHttpClient));
+    }
+
+    @Bean
+    public MeterBinder upstreamConnectionPoolMetrics(PoolingHttpClientConnectionManager upstreamConnectionManager) {
+        return registry -> {
+            registerPoolGauge(registry, upstreamConnectionManager, "leased", "Connections currently in use", PoolStats::getLeased);
+            registerPoolGauge(registry, upstreamConnectionManager, "available", "Idle connections kept alive in the pool", PoolStats::getAvailable);
+            registerPoolGauge(registry, upstreamConnectionManager, "pending", "Requests waiting for a connection", PoolStats::getPending);
+            registerPoolGauge(registry, upstreamConnectionManager, "max", "Maximum number of pooled connections", PoolStats::getMax);
+        };
+    }
+
+    private static void registerPoolGauge(MeterRegistry registry, PoolingHttpClientConnectionManager connectionManager,
+                                          String state, String description, ToIntFunction<PoolStats> stat) {
+        Gauge.builder("employees.http.pool.connections", connectionManager, manager -> stat.applyAsInt(manager.getTotalStats()))
+                .description(description)
+                .tag("state", state)
+                .register(registry);
     }
 }
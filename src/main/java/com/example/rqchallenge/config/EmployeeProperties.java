@@ -0,0 +1,619 @@
+package com.example.rqchallenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "employees")
+public class EmployeeProperties {
+
+    private final Upstream upstream = new Upstream();
+    private final Roster roster = new Roster();
+    private final Lookup lookup = new Lookup();
+    private final Cache cache = new Cache();
+    private final Batch batch = new Batch();
+    private final Paging paging = new Paging();
+    private final Analytics analytics = new Analytics();
+    private final Changes changes = new Changes();
+    private final Http http = new Http();
+    private final Bulkheads bulkheads = new Bulkheads();
+    private final RateLimit rateLimit = new RateLimit();
+    private final Breaker breaker = new Breaker();
+    private final Retry retry = new Retry();
+
+    public Upstream getUpstream() {
+        return upstream;
+    }
+
+    public Roster getRoster() {
+        return roster;
+    }
+
+    public Lookup getLookup() {
+        return lookup;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public Paging getPaging() {
+        return paging;
+    }
+
+    public Analytics getAnalytics() {
+        return analytics;
+    }
+
+    public Changes getChanges() {
+        return changes;
+    }
+
+    public Http getHttp() {
+        return http;
+    }
+
+    public Bulkheads getBulkheads() {
+        return bulkheads;
+    }
+
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    public Breaker getBreaker() {
+        return breaker;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public static class Upstream {
+        /**
+         * Root of the upstream employee API; the transports append {@code /employees}, {@code /employee/{id}} and so on.
+         */
+        private String baseUrl = "https://dummy.restapiexample.com/api/v1";
+        /**
+         * Transport used for upstream calls: a thread-per-call RestTemplate or the non-blocking JDK HttpClient.
+         */
+        private ClientType client = ClientType.BLOCKING;
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public void setBaseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public ClientType getClient() {
+            return client;
+        }
+
+        public void setClient(ClientType client) {
+            this.client = client;
+        }
+
+        public enum ClientType {
+            BLOCKING,
+            ASYNC
+        }
+    }
+
+    public static class Roster {
+        /**
+         * How long a roster snapshot is served before a background refresh is triggered.
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+        /**
+         * Where salary aggregates are computed: the cached roster snapshot, or a token-streaming pass over a
+         * fresh upstream response that never holds more than the requested top earners in memory.
+         */
+        private AggregateSource aggregateSource = AggregateSource.SNAPSHOT;
+        /**
+         * File the last good upstream roster is saved to and restored from at startup, so a restarted instance can
+         * serve it, marked stale, before the upstream answers. Unset by default, which disables persistence; each
+         * deployment should point it at a path of its own.
+         */
+        private Path snapshotFile;
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public AggregateSource getAggregateSource() {
+            return aggregateSource;
+        }
+
+        public void setAggregateSource(AggregateSource aggregateSource) {
+            this.aggregateSource = aggregateSource;
+        }
+
+        public Path getSnapshotFile() {
+            return snapshotFile;
+        }
+
+        public void setSnapshotFile(Path snapshotFile) {
+            this.snapshotFile = snapshotFile;
+        }
+
+        public enum AggregateSource {
+            SNAPSHOT,
+            STREAMING
+        }
+    }
+
+    public static class Lookup {
+        /**
+         * Deadline for answering a single-employee lookup; past it the cached roster snapshot is served instead.
+         */
+        private Duration budget = Duration.ofSeconds(2);
+        /**
+         * Latency percentile of recent lookups after which an unanswered lookup is hedged with a second attempt.
+         */
+        private double hedgePercentile = 0.95;
+        /**
+         * Hedge delay used until enough lookups have been observed to derive the percentile.
+         */
+        private Duration hedgeInitialDelay = Duration.ofMillis(250);
+
+        public Duration getBudget() {
+            return budget;
+        }
+
+        public void setBudget(Duration budget) {
+            this.budget = budget;
+        }
+
+        public double getHedgePercentile() {
+            return hedgePercentile;
+        }
+
+        public void setHedgePercentile(double hedgePercentile) {
+            this.hedgePercentile = hedgePercentile;
+        }
+
+        public Duration getHedgeInitialDelay() {
+            return hedgeInitialDelay;
+        }
+
+        public void setHedgeInitialDelay(Duration hedgeInitialDelay) {
+            this.hedgeInitialDelay = hedgeInitialDelay;
+        }
+    }
+
+    public static class Cache {
+        /**
+         * Maximum number of employees held by the id-keyed lookup cache.
+         */
+        private int maxSize = 10_000;
+        /**
+         * How long a cached employee is served after it was written.
+         */
+        private Duration ttl = Duration.ofSeconds(60);
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    public static class Batch {
+        /**
+         * Largest number of items accepted by one batch create or delete request.
+         */
+        private int maxItems = 500;
+        /**
+         * Upstream calls a single batch keeps in flight at once.
+         */
+        private int maxConcurrent = 2;
+        /**
+         * Upstream calls a single batch starts per second; 0 disables pacing.
+         */
+        private double rate = 10;
+
+        public int getMaxItems() {
+            return maxItems;
+        }
+
+        public void setMaxItems(int maxItems) {
+            this.maxItems = maxItems;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public double getRate() {
+            return rate;
+        }
+
+        public void setRate(double rate) {
+            this.rate = rate;
+        }
+    }
+
+    public static class Paging {
+        /**
+         * Page size of list and search requests that ask for a page without giving a size.
+         */
+        private int defaultSize = 50;
+        /**
+         * Largest page size a list or search request may ask for.
+         */
+        private int maxSize = 1000;
+
+        public int getDefaultSize() {
+            return defaultSize;
+        }
+
+        public void setDefaultSize(int defaultSize) {
+            this.defaultSize = defaultSize;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    public static class Analytics {
+        /**
+         * Width of the salary histogram buckets; widened if the salary range would need more than 1000 buckets.
+         */
+        private int salaryBucketWidth = 25000;
+        /**
+         * Roster size from which analytics are computed in parallel on the fork-join pool.
+         */
+        private int parallelThreshold = 50000;
+
+        public int getSalaryBucketWidth() {
+            return salaryBucketWidth;
+        }
+
+        public void setSalaryBucketWidth(int salaryBucketWidth) {
+            this.salaryBucketWidth = salaryBucketWidth;
+        }
+
+        public int getParallelThreshold() {
+            return parallelThreshold;
+        }
+
+        public void setParallelThreshold(int parallelThreshold) {
+            this.parallelThreshold = parallelThreshold;
+        }
+    }
+
+    public static class Changes {
+        /**
+         * Most recent roster changes kept for subscribers resuming from an earlier event id.
+         */
+        private int bufferSize = 10_000;
+        /**
+         * Interval of the keep-alive comments sent to idle subscribers.
+         */
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+        /**
+         * How long a subscription stays open before the client has to reconnect and resume.
+         */
+        private Duration subscriptionTimeout = Duration.ofMinutes(30);
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public Duration getHeartbeatInterval() {
+            return heartbeatInterval;
+        }
+
+        public void setHeartbeatInterval(Duration heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+        }
+
+        public Duration getSubscriptionTimeout() {
+            return subscriptionTimeout;
+        }
+
+        public void setSubscriptionTimeout(Duration subscriptionTimeout) {
+            this.subscriptionTimeout = subscriptionTimeout;
+        }
+    }
+
+    public static class Http {
+        /**
+         * Maximum time to establish a TCP connection to the upstream.
+         */
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        /**
+         * Maximum time to wait for data on an established connection.
+         */
+        private Duration readTimeout = Duration.ofSeconds(5);
+        /**
+         * Maximum time to wait for a free connection from the pool.
+         */
+        private Duration poolAcquireTimeout = Duration.ofSeconds(1);
+        private int maxConnections = 50;
+        private int maxConnectionsPerRoute = 20;
+        /**
+         * Keep-alive applied when the upstream does not send a Keep-Alive header.
+         */
+        private Duration keepAlive = Duration.ofSeconds(30);
+        /**
+         * Idle pooled connections are closed after this long.
+         */
+        private Duration maxIdleTime = Duration.ofSeconds(60);
+        /**
+         * Whether to request and transparently decompress gzip/deflate responses.
+         */
+        private boolean compression = true;
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getReadTimeout() {
+            return readTimeout;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+        }
+
+        public Duration getPoolAcquireTimeout() {
+            return poolAcquireTimeout;
+        }
+
+        public void setPoolAcquireTimeout(Duration poolAcquireTimeout) {
+            this.poolAcquireTimeout = poolAcquireTimeout;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getMaxConnectionsPerRoute() {
+            return maxConnectionsPerRoute;
+        }
+
+        public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        }
+
+        public Duration getKeepAlive() {
+            return keepAlive;
+        }
+
+        public void setKeepAlive(Duration keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+
+        public Duration getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        public void setMaxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+
+        public boolean isCompression() {
+            return compression;
+        }
+
+        public void setCompression(boolean compression) {
+            this.compression = compression;
+        }
+    }
+
+    public static class Bulkheads {
+        /**
+         * Roster (/employees) fetches.
+         */
+        private final Limits read = new Limits(4, 50);
+        /**
+         * Single-employee (/employee/{id}) lookups.
+         */
+        private final Limits lookup = new Limits(4, 100);
+        /**
+         * Creates and deletes.
+         */
+        private final Limits write = new Limits(2, 50);
+        /**
+         * Retry-After advertised to clients whose call was shed.
+         */
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        public Limits getRead() {
+            return read;
+        }
+
+        public Limits getLookup() {
+            return lookup;
+        }
+
+        public Limits getWrite() {
+            return write;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+
+        public static class Limits {
+            private int maxConcurrent;
+            private int maxQueued;
+
+            public Limits() {
+            }
+
+            Limits(int maxConcurrent, int maxQueued) {
+                this.maxConcurrent = maxConcurrent;
+                this.maxQueued = maxQueued;
+            }
+
+            public int getMaxConcurrent() {
+                return maxConcurrent;
+            }
+
+            public void setMaxConcurrent(int maxConcurrent) {
+                this.maxConcurrent = maxConcurrent;
+            }
+
+            public int getMaxQueued() {
+                return maxQueued;
+            }
+
+            public void setMaxQueued(int maxQueued) {
+                this.maxQueued = maxQueued;
+            }
+        }
+    }
+
+    public static class RateLimit {
+        /**
+         * Upstream calls per second this node may send, across all routes; zero or less disables the limit.
+         */
+        private double rate = 5;
+        /**
+         * Calls that may be sent back to back after a quiet period.
+         */
+        private int burst = 10;
+        /**
+         * Longest a call may wait for its turn before it is shed.
+         */
+        private Duration maxWait = Duration.ofSeconds(1);
+
+        public double getRate() {
+            return rate;
+        }
+
+        public void setRate(double rate) {
+            this.rate = rate;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+
+    public static class Breaker {
+        /**
+         * Consecutive failures on an upstream route that open its circuit.
+         */
+        private int failureThreshold = 5;
+        /**
+         * How long an open circuit fails fast before letting a probe call through.
+         */
+        private Duration openDuration = Duration.ofSeconds(10);
+
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public void setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+        }
+    }
+
+    public static class Retry {
+        /**
+         * Attempts per idempotent upstream call, including the first one.
+         */
+        private int maxAttempts = 3;
+        /**
+         * Upper bound of the jittered delay before the first retry; doubled for every further retry.
+         */
+        private Duration initialBackoff = Duration.ofMillis(100);
+        /**
+         * Cap on the jittered delay between retries.
+         */
+        private Duration maxBackoff = Duration.ofSeconds(1);
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+    }
+}
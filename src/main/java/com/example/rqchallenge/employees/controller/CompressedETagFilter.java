@@ -0,0 +1,247 @@
+package com.example.rqchallenge.employees.controller;
+
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps strong ETags correct when {@link EncodedResponseCache} serves a gzipped body. The container leaves
+ * responses with a strong ETag uncompressed, so those are the only gzipped bodies that carry one. The ETag of a
+ * gzipped body gets a {@code -gzip} suffix, so the compressed and identity bodies never share a validator, and the
+ * suffix is stripped from {@code If-None-Match} again before the handler compares it with the ETag of the current
+ * roster. Whether a body is gzipped is only known once its headers are complete, so the ETag is held back until the
+ * response is about to be written: it is suffixed if the response carries {@code Content-Encoding: gzip}. A 304
+ * keeps the form of the validator the client sent.
+ */
+@Component
+public class CompressedETagFilter extends OncePerRequestFilter {
+
+    static final String GZIP_SUFFIX = "-gzip";
+
+    private final ResponseCompression compression;
+
+    public CompressedETagFilter(ServerProperties serverProperties) {
+        this.compression = new ResponseCompression(serverProperties);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !compression.isEnabled() || !acceptsGzip(request);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        HttpServletRequest filteredRequest = WebUtils.getNativeRequest(request, GzipValidatorRequest.class) != null ? request : new GzipValidatorRequest(request);
+        GzipETagResponse etagResponse = WebUtils.getNativeResponse(response, GzipETagResponse.class);
+        HttpServletResponse filteredResponse = response;
+        if (etagResponse == null) {
+            etagResponse = new GzipETagResponse(response, WebUtils.getNativeRequest(filteredRequest, GzipValidatorRequest.class));
+            filteredResponse = etagResponse;
+        }
+        filterChain.doFilter(filteredRequest, filteredResponse);
+        if (!request.isAsyncStarted()) {
+            etagResponse.writeETag();
+        }
+    }
+
+    static boolean acceptsGzip(HttpServletRequest request) {
+        Enumeration<String> values = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (values.hasMoreElements()) {
+            if (acceptsGzip(values.nextElement())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return whether the given {@code Accept-Encoding} value accepts gzip, that is lists it with a non-zero quality
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip") && !(parts.length > 1 && parts[1].replace(" ", "").matches("q=0(\\.0*)?"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String withSuffix(String etag) {
+        if (etag == null || etag.startsWith("W/") || !etag.endsWith("\"") || etag.endsWith(GZIP_SUFFIX + "\"")) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + GZIP_SUFFIX + "\"";
+    }
+
+    private static String withoutSuffix(String validators) {
+        return validators.replace(GZIP_SUFFIX + "\"", "\"");
+    }
+
+    private static final class GzipValidatorRequest extends HttpServletRequestWrapper {
+
+        GzipValidatorRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            String value = super.getHeader(name);
+            return value != null && isIfNoneMatch(name) ? withoutSuffix(value) : value;
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            Enumeration<String> values = super.getHeaders(name);
+            if (values == null || !isIfNoneMatch(name)) {
+                return values;
+            }
+            return Collections.enumeration(Collections.list(values).stream().map(CompressedETagFilter::withoutSuffix).collect(Collectors.toList()));
+        }
+
+        /**
+         * @return whether the client revalidated with the gzip form of the given ETag
+         */
+        boolean sentGzipValidatorFor(String etag) {
+            Enumeration<String> values = ((HttpServletRequest) getRequest()).getHeaders(HttpHeaders.IF_NONE_MATCH);
+            String gzipETag = withSuffix(etag);
+            while (values != null && values.hasMoreElements()) {
+                if (values.nextElement().contains(gzipETag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean isIfNoneMatch(String name) {
+            return HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name);
+        }
+    }
+
+    private static final class GzipETagResponse extends HttpServletResponseWrapper {
+
+        private final GzipValidatorRequest request;
+        private String etag;
+
+        GzipETagResponse(HttpServletResponse response, GzipValidatorRequest request) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.ETAG.equalsIgnoreCase(name)) {
+                etag = value;
+                return;
+            }
+            super.setHeader(name, value);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.ETAG.equalsIgnoreCase(name)) {
+                etag = value;
+                return;
+            }
+            super.addHeader(name, value);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return HttpHeaders.ETAG.equalsIgnoreCase(name) && etag != null ? etag : super.getHeader(name);
+        }
+
+        @Override
+        public boolean containsHeader(String name) {
+            return (HttpHeaders.ETAG.equalsIgnoreCase(name) && etag != null) || super.containsHeader(name);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeETag();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeETag();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeETag();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int status) throws IOException {
+            writeETag();
+            super.sendError(status);
+        }
+
+        @Override
+        public void sendError(int status, String message) throws IOException {
+            writeETag();
+            super.sendError(status, message);
+        }
+
+        /**
+         * Writes the held back ETag, with the {@code -gzip} suffix if the body goes out gzipped.
+         */
+        void writeETag() {
+            if (etag == null) {
+                return;
+            }
+            String value = etag;
+            etag = null;
+            if (isGzipped(value)) {
+                super.setHeader(HttpHeaders.ETAG, withSuffix(value));
+                varyOnAcceptEncoding();
+            } else {
+                super.setHeader(HttpHeaders.ETAG, value);
+            }
+        }
+
+        private boolean isGzipped(String value) {
+            if (getStatus() == HttpServletResponse.SC_NOT_MODIFIED) {
+                return request != null && request.sentGzipValidatorFor(value);
+            }
+            String contentEncoding = super.getHeader(HttpHeaders.CONTENT_ENCODING);
+            return contentEncoding != null && contentEncoding.trim().equalsIgnoreCase("gzip");
+        }
+
+        private void varyOnAcceptEncoding() {
+            for (String vary : getHeaders(HttpHeaders.VARY)) {
+                if (vary.toLowerCase(Locale.ROOT).contains("accept-encoding")) {
+                    return;
+                }
+            }
+            super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package com.example.rqchallenge.employees.controller;
 
+import com.example.rqchallenge.employees.model.BatchItemResult;
 import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeAnalytics;
+import com.example.rqchallenge.employees.model.EmployeeQuery;
+import com.example.rqchallenge.employees.model.EmployeesByIdsResponse;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
@@ -14,23 +21,41 @@ import java.util.concurrent.CompletableFuture;
 public interface EmployeeController {
 
     @GetMapping
-    CompletableFuture<ResponseEntity<List<Employee>>> getAllEmployees() throws IOException;
+    CompletableFuture<ResponseEntity<List<Employee>>> getAllEmployees(EmployeeQuery query) throws IOException;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    CompletableFuture<ResponseEntity<StreamingResponseBody>> streamAllEmployees();
 
     @GetMapping("/search/{searchString}")
-    CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@PathVariable String searchString);
+    CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@PathVariable String searchString, EmployeeQuery query);
 
     @GetMapping("/{id}")
     CompletableFuture<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id);
 
+    @GetMapping("/by-ids")
+    CompletableFuture<ResponseEntity<EmployeesByIdsResponse>> getEmployeesByIds(@RequestParam List<String> ids);
+
     @GetMapping("/highestSalary")
     CompletableFuture<ResponseEntity<Integer>> getHighestSalaryOfEmployees();
 
     @GetMapping("/topTenHighestEarningEmployeeNames")
     CompletableFuture<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames();
 
+    @GetMapping("/analytics")
+    CompletableFuture<ResponseEntity<EmployeeAnalytics>> getEmployeeAnalytics();
+
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter getRosterChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId, @RequestParam(required = false) String since);
+
     @PostMapping
     CompletableFuture<ResponseEntity<String>> createEmployee(@RequestBody Map<String, Object> employeeInput);
 
     @DeleteMapping("/{id}")
     CompletableFuture<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id);
+
+    @PostMapping("/batch")
+    CompletableFuture<ResponseEntity<List<BatchItemResult>>> createEmployees(@RequestBody List<Map<String, Object>> employeeInputs);
+
+    @DeleteMapping("/batch")
+    CompletableFuture<ResponseEntity<List<BatchItemResult>>> deleteEmployeesByIds(@RequestBody List<String> ids);
 }
@@ -1,13 +1,27 @@
 package com.example.rqchallenge.employees.controller;
 
+import com.example.rqchallenge.employees.model.BatchItemResult;
 import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeAnalytics;
+import com.example.rqchallenge.employees.model.EmployeeQuery;
+import com.example.rqchallenge.employees.model.EmployeesByIdsResponse;
 import com.example.rqchallenge.employees.service.EmployeeService;
+import com.example.rqchallenge.employees.service.RosterChangeFeed;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -17,24 +31,64 @@ import java.util.concurrent.CompletableFuture;
 public class EmployeeControllerImpl implements EmployeeController {
 
     private static final Logger logger = LoggerFactory.getLogger(EmployeeControllerImpl.class);
+    private static final int NDJSON_FLUSH_INTERVAL = 256;
     private final EmployeeService employeeService;
+    private final ObjectWriter employeeWriter;
+    private final EncodedResponseCache encodedResponses;
+    private final RosterChangeFeed changeFeed;
 
-    public EmployeeControllerImpl(EmployeeService employeeService) {
+    public EmployeeControllerImpl(EmployeeService employeeService, ObjectMapper objectMapper, EncodedResponseCache encodedResponses, RosterChangeFeed changeFeed) {
         this.employeeService = employeeService;
+        this.employeeWriter = objectMapper.writerFor(Employee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.encodedResponses = encodedResponses;
+        this.changeFeed = changeFeed;
     }
 
     @Override
     @GetMapping
-    public CompletableFuture<ResponseEntity<List<Employee>>> getAllEmployees() throws IOException {
-        logger.info("Fetching all employees.");
-        return employeeService.getAllEmployees();
+    public CompletableFuture<ResponseEntity<List<Employee>>> getAllEmployees(EmployeeQuery query) throws IOException {
+        logger.info("Fetching employees, page {} of size {} sorted by {} with fields {}.", query.getPage(), query.getSize(), query.getSort(), query.getFields());
+        FieldProjection projection;
+        try {
+            projection = FieldProjection.of(query.getFields());
+        } catch (IllegalArgumentException e) {
+            logger.error("Rejected employee query: {}", e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        projection.select();
+        if (isFullRoster(query)) {
+            encodedResponses.cacheResponse("employees");
+        }
+        return employeeService.getEmployees(query);
+    }
+
+    @Override
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> streamAllEmployees() {
+        logger.info("Streaming all employees as NDJSON.");
+        return employeeService.getAllEmployees().thenApply(response -> {
+            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+                return ResponseEntity.status(response.getStatusCode()).headers(response.getHeaders()).build();
+            }
+            List<Employee> employees = response.getBody();
+            StreamingResponseBody body = outputStream -> writeNdjson(employees, outputStream);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+        });
     }
 
     @Override
     @GetMapping("/search/{searchString}")
-    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@PathVariable String searchString) {
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@PathVariable String searchString, EmployeeQuery query) {
         logger.info("Searching employees by name: {}", searchString);
-        return employeeService.getEmployeesByNameSearch(searchString);
+        FieldProjection projection;
+        try {
+            projection = FieldProjection.of(query.getFields());
+        } catch (IllegalArgumentException e) {
+            logger.error("Rejected employee search: {}", e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        projection.select();
+        return employeeService.getEmployeesByNameSearch(searchString, query);
     }
 
     @Override
@@ -44,10 +98,18 @@ public class EmployeeControllerImpl implements EmployeeController {
         return employeeService.getEmployeeById(id);
     }
 
+    @Override
+    @GetMapping("/by-ids")
+    public CompletableFuture<ResponseEntity<EmployeesByIdsResponse>> getEmployeesByIds(@RequestParam List<String> ids) {
+        logger.info("Fetching {} employees by id.", ids.size());
+        return employeeService.getEmployeesByIds(ids);
+    }
+
     @Override
     @GetMapping("/highestSalary")
     public CompletableFuture<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
         logger.info("Fetching the highest salary of employees.");
+        encodedResponses.cacheResponse("highestSalary");
         return employeeService.getHighestSalaryOfEmployees();
     }
 
@@ -55,9 +117,26 @@ public class EmployeeControllerImpl implements EmployeeController {
     @GetMapping("/topTenHighestEarningEmployeeNames")
     public CompletableFuture<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
         logger.info("Fetching top ten highest earning employee names.");
+        encodedResponses.cacheResponse("topTenHighestEarningEmployeeNames");
         return employeeService.getTopTenHighestEarningEmployeeNames();
     }
 
+    @Override
+    @GetMapping("/analytics")
+    public CompletableFuture<ResponseEntity<EmployeeAnalytics>> getEmployeeAnalytics() {
+        logger.info("Fetching employee analytics.");
+        encodedResponses.cacheResponse("analytics");
+        return employeeService.getEmployeeAnalytics();
+    }
+
+    @Override
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getRosterChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId, @RequestParam(required = false) String since) {
+        String resumeFrom = lastEventId != null ? lastEventId : since;
+        logger.info("Subscribing to roster changes after {}.", resumeFrom);
+        return changeFeed.subscribe(resumeFrom);
+    }
+
     @Override
     @PostMapping
     public CompletableFuture<ResponseEntity<String>> createEmployee(@RequestBody Map<String, Object> employeeInput) {
@@ -71,4 +150,48 @@ public class EmployeeControllerImpl implements EmployeeController {
         logger.info("Deleting employee by id: {}", id);
         return employeeService.deleteEmployeeById(id);
     }
+
+    @Override
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<List<BatchItemResult>>> createEmployees(@RequestBody List<Map<String, Object>> employeeInputs) {
+        logger.info("Creating {} employees in a batch.", employeeInputs.size());
+        return employeeService.createEmployees(employeeInputs);
+    }
+
+    @Override
+    @DeleteMapping("/batch")
+    public CompletableFuture<ResponseEntity<List<BatchItemResult>>> deleteEmployeesByIds(@RequestBody List<String> ids) {
+        logger.info("Deleting {} employees in a batch.", ids.size());
+        return employeeService.deleteEmployeesByIds(ids);
+    }
+
+    private static boolean isFullRoster(EmployeeQuery query) {
+        return query.getPage() == null && query.getSize() == null
+                && (query.getSort() == null || query.getSort().isBlank())
+                && (query.getFields() == null || query.getFields().isEmpty());
+    }
+
+    /**
+     * Writes one employee per line, flushing every few hundred records so the client starts receiving data
+     * immediately. Only one employee is encoded at a time; if the client goes away the next write or flush
+     * fails and streaming stops.
+     */
+    private void writeNdjson(List<Employee> employees, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = employeeWriter.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            int written = 0;
+            for (Employee employee : employees) {
+                employeeWriter.writeValue(generator, employee);
+                if (++written % NDJSON_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            if (written > 0) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+            logger.info("Streamed {} employees.", written);
+        }
+    }
 }
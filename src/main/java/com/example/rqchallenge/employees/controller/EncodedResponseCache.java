@@ -0,0 +1,171 @@
+package com.example.rqchallenge.employees.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The encoded JSON bodies of the unfiltered read endpoints that every poller hits, one per endpoint, kept for as
+ * long as the roster behind them is unchanged. It is a message converter ahead of Jackson for the requests the
+ * controller marks with {@link #cacheResponse}: the body is encoded once per roster ETag, gzipped at most once more
+ * if the container would compress it too, and the bytes are then written as they are on every following request.
+ * Responses without an ETag, such as streamed salary aggregates, are serialized per request and not cached.
+ */
+@Component
+public class EncodedResponseCache extends AbstractHttpMessageConverter<Object> {
+
+    private static final String ENDPOINT_ATTRIBUTE = EncodedResponseCache.class.getName() + ".endpoint";
+
+    private final ObjectMapper objectMapper;
+    private final ResponseCompression compression;
+    private final ConcurrentMap<String, EncodedBody> bodies = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public EncodedResponseCache(ObjectMapper objectMapper, ServerProperties serverProperties, MeterRegistry meterRegistry) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+        this.compression = new ResponseCompression(serverProperties);
+        this.hits = Counter.builder("employees.http.encoded.responses")
+                .description("Responses written from an already encoded body")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("employees.http.encoded.responses")
+                .description("Responses whose body had to be encoded for a new roster")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Has the body of the current request's response written from this cache.
+     *
+     * @param endpoint the endpoint the response belongs to; each endpoint keeps the body of its latest roster only
+     */
+    void cacheResponse(String endpoint) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(ENDPOINT_ATTRIBUTE, endpoint, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return true;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        HttpServletRequest request = currentRequest();
+        return request != null && request.getAttribute(ENDPOINT_ATTRIBUTE) != null && super.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Encoded responses are write-only.", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        HttpHeaders headers = outputMessage.getHeaders();
+        HttpServletRequest request = currentRequest();
+        String etag = headers.getETag();
+        byte[] bytes;
+        if (etag == null || request == null) {
+            bytes = encode(value);
+        } else {
+            EncodedBody body = encoded((String) request.getAttribute(ENDPOINT_ATTRIBUTE), etag, value);
+            bytes = body.identity;
+            if (body.compressible && CompressedETagFilter.acceptsGzip(request)) {
+                headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+                bytes = body.gzipped();
+            }
+        }
+        headers.setContentLength(bytes.length);
+        outputMessage.getBody().write(bytes);
+    }
+
+    private EncodedBody encoded(String endpoint, String etag, Object value) {
+        EncodedBody body = bodies.get(endpoint);
+        if (body != null && body.etag.equals(etag)) {
+            hits.increment();
+            return body;
+        }
+        byte[] identity = encode(value);
+        body = new EncodedBody(etag, identity, compression.compresses(MediaType.APPLICATION_JSON_VALUE, identity.length));
+        bodies.put(endpoint, body);
+        misses.increment();
+        return body;
+    }
+
+    private byte[] encode(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes ? ((ServletRequestAttributes) attributes).getRequest() : null;
+    }
+
+    private static final class EncodedBody {
+
+        private final String etag;
+        private final byte[] identity;
+        private final boolean compressible;
+        private volatile byte[] gzipped;
+
+        EncodedBody(String etag, byte[] identity, boolean compressible) {
+            this.etag = etag;
+            this.identity = identity;
+            this.compressible = compressible;
+        }
+
+        byte[] gzipped() {
+            byte[] encoded = gzipped;
+            if (encoded == null) {
+                encoded = gzip(identity);
+                gzipped = encoded;
+            }
+            return encoded;
+        }
+
+        private static byte[] gzip(byte[] bytes) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+                gzip.write(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return buffer.toByteArray();
+        }
+    }
+}
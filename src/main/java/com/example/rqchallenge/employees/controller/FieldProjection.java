@@ -0,0 +1,94 @@
+package com.example.rqchallenge.employees.controller;
+
+import com.example.rqchallenge.employees.model.Employee;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The {@link Employee} properties selected with {@code fields=}. The handlers keep returning employees and
+ * {@link #select() select} the projection for the request; {@link FieldProjectionAdvice} applies it when the body is
+ * written, copying each employee into a small ordered map holding only those properties, so the others are neither
+ * serialized nor sent.
+ */
+final class FieldProjection {
+
+    private static final String ATTRIBUTE = FieldProjection.class.getName();
+
+    private static final Map<String, Function<Employee, String>> PROPERTIES = new LinkedHashMap<>();
+
+    static {
+        PROPERTIES.put("id", Employee::getId);
+        PROPERTIES.put("employee_name", Employee::getEmployee_name);
+        PROPERTIES.put("employee_salary", Employee::getEmployee_salary);
+        PROPERTIES.put("employee_age", Employee::getEmployee_age);
+        PROPERTIES.put("profile_image", Employee::getProfile_image);
+    }
+
+    private static final FieldProjection ALL = new FieldProjection(null);
+
+    private final Map<String, Function<Employee, String>> selected;
+
+    private FieldProjection(Map<String, Function<Employee, String>> selected) {
+        this.selected = selected;
+    }
+
+    /**
+     * @return the projection onto the given properties, or onto all of them if none are given
+     * @throws IllegalArgumentException if a property is not an {@link Employee} property
+     */
+    static FieldProjection of(List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return ALL;
+        }
+        List<String> requested = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            String property = field.trim();
+            if (!PROPERTIES.containsKey(property)) {
+                throw new IllegalArgumentException("Unknown field '" + property + "', expected any of " + PROPERTIES.keySet());
+            }
+            requested.add(property);
+        }
+        Map<String, Function<Employee, String>> selected = new LinkedHashMap<>();
+        PROPERTIES.forEach((property, getter) -> {
+            if (requested.contains(property)) {
+                selected.put(property, getter);
+            }
+        });
+        return new FieldProjection(selected);
+    }
+
+    /**
+     * Has the body of the current request's response projected when it is written. Selecting all properties
+     * leaves the body as it is.
+     */
+    void select() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (selected != null && attributes != null) {
+            attributes.setAttribute(ATTRIBUTE, this, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * @return the projection selected for the request, or {@code null} if its body is written as it is
+     */
+    static FieldProjection selectedFor(HttpServletRequest request) {
+        return (FieldProjection) request.getAttribute(ATTRIBUTE);
+    }
+
+    List<Map<String, String>> apply(List<Employee> employees) {
+        List<Map<String, String>> projected = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            Map<String, String> properties = new LinkedHashMap<>(selected.size() * 4 / 3 + 1);
+            selected.forEach((property, getter) -> properties.put(property, getter.apply(employee)));
+            projected.add(properties);
+        }
+        return projected;
+    }
+}
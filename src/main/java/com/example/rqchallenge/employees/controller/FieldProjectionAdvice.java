@@ -0,0 +1,35 @@
+package com.example.rqchallenge.employees.controller;
+
+import com.example.rqchallenge.employees.model.Employee;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.List;
+
+/**
+ * Applies the {@link FieldProjection} a list handler selected for the request when Jackson writes its employees.
+ * A Jackson property filter would need a filter provider on every mapper that writes {@link Employee}, including
+ * the snapshot file and the NDJSON and change streams, so the rows are projected here instead.
+ */
+@ControllerAdvice(assignableTypes = EmployeeControllerImpl.class)
+public class FieldProjectionAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType, MethodParameter returnType,
+                                           ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest) || !(bodyContainer.getValue() instanceof List)) {
+            return;
+        }
+        FieldProjection projection = FieldProjection.selectedFor(((ServletServerHttpRequest) request).getServletRequest());
+        if (projection != null) {
+            bodyContainer.setValue(projection.apply((List<Employee>) bodyContainer.getValue()));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.rqchallenge.employees.controller;
+
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The rule the container applies when it compresses responses, as configured by {@code server.compression}: a
+ * response is gzipped only when compression is enabled, its content type is one of the configured mime types and
+ * its length is unknown or at least the minimum response size.
+ */
+final class ResponseCompression {
+
+    private final boolean enabled;
+    private final List<MediaType> mimeTypes;
+    private final long minResponseSize;
+
+    ResponseCompression(ServerProperties serverProperties) {
+        Compression compression = serverProperties.getCompression();
+        this.enabled = Boolean.TRUE.equals(compression.getEnabled());
+        this.mimeTypes = Arrays.stream(compression.getMimeTypes()).map(MediaType::parseMediaType).collect(Collectors.toList());
+        this.minResponseSize = compression.getMinResponseSize().toBytes();
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param contentLength the length of the body in bytes, or {@code -1} if it is not known up front
+     */
+    boolean compresses(String contentType, long contentLength) {
+        if (!enabled || contentType == null || (contentLength >= 0 && contentLength < minResponseSize)) {
+            return false;
+        }
+        MediaType type;
+        try {
+            type = MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        return mimeTypes.stream().anyMatch(type::equalsTypeAndSubtype);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.rqchallenge.employees.controller;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the size of every response body in the {@code employees.http.response.size} distribution summary,
+ * tagged with the method, matched URI pattern and status. Bytes are counted as message converters and streaming
+ * handlers write them to the output stream, before any response compression, and are summed across the async
+ * dispatches of future-returning and streaming handlers.
+ */
+@Component
+public class ResponseSizeFilter extends OncePerRequestFilter {
+
+    private static final String WRITTEN_ATTRIBUTE = ResponseSizeFilter.class.getName() + ".WRITTEN";
+
+    private final MeterRegistry meterRegistry;
+
+    public ResponseSizeFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        AtomicLong written = (AtomicLong) request.getAttribute(WRITTEN_ATTRIBUTE);
+        if (written == null) {
+            written = new AtomicLong();
+            request.setAttribute(WRITTEN_ATTRIBUTE, written);
+        }
+        // An async dispatch may hand back the wrapper of an earlier dispatch; wrapping it again would count twice.
+        HttpServletResponse counted = WebUtils.getNativeResponse(response, CountingResponse.class) != null
+                ? response
+                : new CountingResponse(response, written);
+        try {
+            filterChain.doFilter(request, counted);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                record(request, response, written.get());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, long bytes) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("employees.http.response.size")
+                .description("Response body sizes as written by the application, before compression")
+                .baseUnit("bytes")
+                .tags("method", request.getMethod(),
+                        "uri", pattern == null ? "UNKNOWN" : pattern.toString(),
+                        "status", String.valueOf(response.getStatus()))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+        private final AtomicLong written;
+        private ServletOutputStream outputStream;
+
+        CountingResponse(HttpServletResponse response, AtomicLong written) {
+            super(response);
+            this.written = written;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CountingOutputStream(super.getOutputStream(), written);
+            }
+            return outputStream;
+        }
+    }
+
+    private static final class CountingOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+        private final AtomicLong written;
+
+        CountingOutputStream(ServletOutputStream delegate, AtomicLong written) {
+            this.delegate = delegate;
+            this.written = written;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            written.incrementAndGet();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            written.addAndGet(len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.rqchallenge.employees.model;
+
+/**
+ * Outcome of one item of a batch create or delete, reported at the item's position in the request.
+ */
+public class BatchItemResult {
+    private int index;
+    private String id;
+    private String status;
+    private String reason;
+
+    public BatchItemResult(int index, String id, String status, String reason) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.reason = reason;
+    }
+
+    public BatchItemResult() {}
+
+    public static BatchItemResult success(int index, String id) {
+        return new BatchItemResult(index, id, "success", null);
+    }
+
+    public static BatchItemResult failed(int index, String id, String reason) {
+        return new BatchItemResult(index, id, "failed", reason);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.rqchallenge.employees.model;
+
+import java.util.List;
+
+/**
+ * Salary and age statistics of the roster served by the analytics endpoint. Only employees with a parseable salary
+ * and age are counted; the rest are reported as quarantined. Salary statistics are {@code null} for a roster
+ * without any such employee.
+ */
+public final class EmployeeAnalytics {
+
+    private final int employeeCount;
+    private final int quarantinedCount;
+    private final SalaryStatistics salary;
+    private final List<SalaryBucket> salaryHistogram;
+    private final List<AgeBand> ageBands;
+
+    public EmployeeAnalytics(int employeeCount, int quarantinedCount, SalaryStatistics salary, List<SalaryBucket> salaryHistogram, List<AgeBand> ageBands) {
+        this.employeeCount = employeeCount;
+        this.quarantinedCount = quarantinedCount;
+        this.salary = salary;
+        this.salaryHistogram = salaryHistogram;
+        this.ageBands = ageBands;
+    }
+
+    public int getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public int getQuarantinedCount() {
+        return quarantinedCount;
+    }
+
+    public SalaryStatistics getSalary() {
+        return salary;
+    }
+
+    public List<SalaryBucket> getSalaryHistogram() {
+        return salaryHistogram;
+    }
+
+    public List<AgeBand> getAgeBands() {
+        return ageBands;
+    }
+
+    public static final class SalaryStatistics {
+
+        private final int min;
+        private final int max;
+        private final double average;
+        private final double median;
+        private final int p90;
+
+        public SalaryStatistics(int min, int max, double average, double median, int p90) {
+            this.min = min;
+            this.max = max;
+            this.average = average;
+            this.median = median;
+            this.p90 = p90;
+        }
+
+        public int getMin() {
+            return min;
+        }
+
+        public int getMax() {
+            return max;
+        }
+
+        public double getAverage() {
+            return average;
+        }
+
+        public double getMedian() {
+            return median;
+        }
+
+        public int getP90() {
+            return p90;
+        }
+    }
+
+    /**
+     * Employees earning at least {@code from} and less than {@code to}.
+     */
+    public static final class SalaryBucket {
+
+        private final long from;
+        private final long to;
+        private final int count;
+
+        public SalaryBucket(long from, long to, int count) {
+            this.from = from;
+            this.to = to;
+            this.count = count;
+        }
+
+        public long getFrom() {
+            return from;
+        }
+
+        public long getTo() {
+            return to;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+    public static final class AgeBand {
+
+        private final String band;
+        private final int count;
+
+        public AgeBand(String band, int count) {
+            this.band = band;
+            this.count = count;
+        }
+
+        public String getBand() {
+            return band;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+}
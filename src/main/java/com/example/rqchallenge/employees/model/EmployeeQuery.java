@@ -0,0 +1,50 @@
+package com.example.rqchallenge.employees.model;
+
+import java.util.List;
+
+/**
+ * Optional paging, ordering and projection of the list and search endpoints, bound from the {@code page},
+ * {@code size}, {@code sort} and {@code fields} query parameters. Without any of them every employee is
+ * returned in roster order with all of its fields.
+ * <p>
+ * {@code page} is zero-based; {@code sort} is {@code salary}, {@code age} or {@code name}, optionally followed
+ * by {@code ,asc} or {@code ,desc}; {@code fields} lists the {@link Employee} properties to return.
+ */
+public class EmployeeQuery {
+    private Integer page;
+    private Integer size;
+    private String sort;
+    private List<String> fields;
+
+    public Integer getPage() {
+        return page;
+    }
+
+    public void setPage(Integer page) {
+        this.page = page;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    public void setFields(List<String> fields) {
+        this.fields = fields;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.rqchallenge.employees.model;
+
+/**
+ * Internal, typed form of an upstream {@link Employee}: salary and age are parsed to primitives once,
+ * when the roster is ingested. The original {@link Employee} is kept unchanged so responses are
+ * serialized in the wire format they were received in, and the name is read from it.
+ */
+public final class EmployeeRecord {
+
+    private final Employee employee;
+    private final int salary;
+    private final int age;
+
+    private EmployeeRecord(Employee employee, int salary, int age) {
+        this.employee = employee;
+        this.salary = salary;
+        this.age = age;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the salary or age is missing or not an integer
+     */
+    public static EmployeeRecord from(Employee employee) {
+        int salary = parseField("employee_salary", employee.getEmployee_salary());
+        int age = parseField("employee_age", employee.getEmployee_age());
+        return new EmployeeRecord(employee, salary, age);
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public String getId() {
+        return employee.getId();
+    }
+
+    public String getName() {
+        return employee.getEmployee_name();
+    }
+
+    public int getSalary() {
+        return salary;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    private static int parseField(String field, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException(field + " is missing");
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " is not an integer: '" + value + "'", e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.rqchallenge.employees.model;
+
+import java.util.List;
+
+/**
+ * Answer to a multi-get: the employees found, in the order their ids were requested, the ids that do not
+ * exist, and the ids that could not be resolved because the upstream failed.
+ */
+public class EmployeesByIdsResponse {
+    private List<Employee> employees;
+    private List<String> notFound;
+    private List<String> failed;
+
+    public EmployeesByIdsResponse(List<Employee> employees, List<String> notFound, List<String> failed) {
+        this.employees = employees;
+        this.notFound = notFound;
+        this.failed = failed;
+    }
+
+    public EmployeesByIdsResponse() {}
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(List<Employee> employees) {
+        this.employees = employees;
+    }
+
+    public List<String> getNotFound() {
+        return notFound;
+    }
+
+    public void setNotFound(List<String> notFound) {
+        this.notFound = notFound;
+    }
+
+    public List<String> getFailed() {
+        return failed;
+    }
+
+    public void setFailed(List<String> failed) {
+        this.failed = failed;
+    }
+}
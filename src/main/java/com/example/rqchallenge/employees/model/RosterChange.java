@@ -0,0 +1,40 @@
+package com.example.rqchallenge.employees.model;
+
+/**
+ * One employee that differs between two successive rosters. A removed employee carries the last version the service
+ * saw of it.
+ */
+public final class RosterChange {
+
+    public enum Type {
+        ADDED, REMOVED, CHANGED
+    }
+
+    private final Type type;
+    private final String id;
+    private final Employee employee;
+    private final long rosterVersion;
+
+    public RosterChange(Type type, Employee employee, long rosterVersion) {
+        this.type = type;
+        this.id = employee.getId();
+        this.employee = employee;
+        this.rosterVersion = rosterVersion;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public long getRosterVersion() {
+        return rosterVersion;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.rqchallenge.employees.model;
+
+import java.util.List;
+
+/**
+ * The salary aggregates served by the highestSalary and topTenHighestEarningEmployeeNames endpoints.
+ */
+public final class SalaryLeaders {
+
+    private final int highestSalary;
+    private final List<String> topEarnerNames;
+
+    public SalaryLeaders(int highestSalary, List<String> topEarnerNames) {
+        this.highestSalary = highestSalary;
+        this.topEarnerNames = topEarnerNames;
+    }
+
+    public int getHighestSalary() {
+        return highestSalary;
+    }
+
+    public List<String> getTopEarnerNames() {
+        return topEarnerNames;
+    }
+}
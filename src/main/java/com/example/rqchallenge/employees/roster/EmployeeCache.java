@@ -0,0 +1,173 @@
+package com.example.rqchallenge.employees.roster;
+
+import com.example.rqchallenge.config.EmployeeProperties;
+import com.example.rqchallenge.employees.model.Employee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded id to {@link Employee} cache in front of single-employee lookups. It is filled from every roster
+ * load and every successful lookup, and entries are dropped when the employee is created or deleted.
+ * <p>
+ * Entries expire a fixed time after they were written. The cache is split into lock-striped segments, each
+ * an access-ordered {@link LinkedHashMap} evicting its least recently used entry once the segment is full,
+ * so eviction is LRU per segment and lookups for different ids rarely contend.
+ */
+@Component
+public class EmployeeCache {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment[] segments;
+    private final long ttlNanos;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+
+    public EmployeeCache(EmployeeProperties properties, MeterRegistry meterRegistry) {
+        EmployeeProperties.Cache cache = properties.getCache();
+        int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, cache.getMaxSize())));
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(cache.getMaxSize() / segmentCount);
+        }
+        this.ttlNanos = cache.getTtl().toNanos();
+        this.hits = Counter.builder("employees.cache.gets")
+                .description("Employee cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("employees.cache.gets")
+                .description("Employee cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.sizeEvictions = Counter.builder("employees.cache.evictions")
+                .description("Entries evicted from the employee cache")
+                .tag("cause", "size")
+                .register(meterRegistry);
+        this.expiredEvictions = Counter.builder("employees.cache.evictions")
+                .description("Entries evicted from the employee cache")
+                .tag("cause", "expired")
+                .register(meterRegistry);
+        Gauge.builder("employees.cache.size", this, EmployeeCache::size)
+                .description("Entries currently held in the employee cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the cached employee, or {@code null} if it is not cached or has expired
+     */
+    public Employee get(String id) {
+        Employee employee = id == null ? null : segmentFor(id).get(id, System.nanoTime());
+        if (employee == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return employee;
+    }
+
+    public void put(Employee employee) {
+        if (employee != null && employee.getId() != null) {
+            segmentFor(employee.getId()).put(employee, System.nanoTime() + ttlNanos);
+        }
+    }
+
+    public void putAll(Collection<Employee> employees) {
+        long expiresAtNanos = System.nanoTime() + ttlNanos;
+        for (Employee employee : employees) {
+            if (employee.getId() != null) {
+                segmentFor(employee.getId()).put(employee, expiresAtNanos);
+            }
+        }
+    }
+
+    public void invalidate(String id) {
+        if (id != null) {
+            segmentFor(id).remove(id);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return (long) hits.count();
+    }
+
+    public long getMissCount() {
+        return (long) misses.count();
+    }
+
+    public long getEvictionCount() {
+        return (long) (sizeEvictions.count() + expiredEvictions.count());
+    }
+
+    private Segment segmentFor(String id) {
+        int hash = id.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    private static final class CachedEmployee {
+        final Employee employee;
+        final long expiresAtNanos;
+
+        CachedEmployee(Employee employee, long expiresAtNanos) {
+            this.employee = employee;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    private final class Segment {
+        private final LinkedHashMap<String, CachedEmployee> entries;
+
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedEmployee> eldest) {
+                    if (size() <= capacity) {
+                        return false;
+                    }
+                    sizeEvictions.increment();
+                    return true;
+                }
+            };
+        }
+
+        synchronized Employee get(String id, long nowNanos) {
+            CachedEmployee cached = entries.get(id);
+            if (cached == null) {
+                return null;
+            }
+            if (nowNanos - cached.expiresAtNanos >= 0) {
+                entries.remove(id);
+                expiredEvictions.increment();
+                return null;
+            }
+            return cached.employee;
+        }
+
+        synchronized void put(Employee employee, long expiresAtNanos) {
+            entries.put(employee.getId(), new CachedEmployee(employee, expiresAtNanos));
+        }
+
+        synchronized void remove(String id) {
+            entries.remove(id);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.rqchallenge.employees.roster;
+
+import com.example.rqchallenge.employees.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Case-folded trigram index over employee names answering the same question as
+ * {@code name.toLowerCase().contains(query.toLowerCase())}. Queries of three or more characters
+ * intersect the posting lists of their trigrams and only verify the surviving candidates; shorter
+ * queries fall back to scanning the pre-folded names. Results are returned in roster order.
+ */
+public final class NameIndex {
+
+    private static final int GRAM = 3;
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final List<Employee> employees;
+    private final String[] foldedNames;
+    private final Map<Long, int[]> postings;
+
+    private NameIndex(List<Employee> employees, String[] foldedNames, Map<Long, int[]> postings) {
+        this.employees = employees;
+        this.foldedNames = foldedNames;
+        this.postings = postings;
+    }
+
+    static NameIndex build(List<Employee> employees) {
+        String[] foldedNames = new String[employees.size()];
+        Map<Long, PostingList> builders = new HashMap<>();
+        for (int position = 0; position < foldedNames.length; position++) {
+            String name = employees.get(position).getEmployee_name();
+            if (name == null) {
+                continue;
+            }
+            String folded = name.toLowerCase();
+            foldedNames[position] = folded;
+            for (int i = 0; i + GRAM <= folded.length(); i++) {
+                builders.computeIfAbsent(trigram(folded, i), key -> new PostingList()).add(position);
+            }
+        }
+
+        Map<Long, int[]> postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+        builders.forEach((key, list) -> postings.put(key, list.toArray()));
+        return new NameIndex(employees, foldedNames, postings);
+    }
+
+    public List<Employee> search(String query) {
+        int[] positions = searchPositions(query);
+        List<Employee> matches = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            matches.add(employees.get(position));
+        }
+        return matches;
+    }
+
+    /**
+     * Same matches as {@link #search(String)}, as ascending roster positions.
+     */
+    public int[] searchPositions(String query) {
+        String folded = query.toLowerCase();
+        if (folded.length() < GRAM) {
+            return scan(folded);
+        }
+
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            grams.add(trigram(folded, i));
+        }
+        int[][] lists = new int[grams.size()][];
+        int next = 0;
+        for (Long gram : grams) {
+            int[] list = postings.getOrDefault(gram, NO_POSTINGS);
+            if (list.length == 0) {
+                return NO_POSTINGS;
+            }
+            lists[next++] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+
+        // Posting lists are shared by every reader of this version, so only ever narrow a private copy.
+        int[] candidates = lists.length == 1 ? lists[0] : lists[0].clone();
+        int candidateCount = candidates.length;
+        for (int i = 1; i < lists.length && candidateCount > 0; i++) {
+            candidateCount = intersect(candidates, candidateCount, lists[i]);
+        }
+
+        int[] matches = new int[candidateCount];
+        int matchCount = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            int position = candidates[i];
+            // Sharing every trigram does not imply adjacency, so confirm the actual substring.
+            if (foldedNames[position].contains(folded)) {
+                matches[matchCount++] = position;
+            }
+        }
+        return matchCount == matches.length ? matches : Arrays.copyOf(matches, matchCount);
+    }
+
+    private int[] scan(String folded) {
+        PostingList matches = new PostingList();
+        for (int position = 0; position < foldedNames.length; position++) {
+            if (foldedNames[position] != null && foldedNames[position].contains(folded)) {
+                matches.add(position);
+            }
+        }
+        return matches.toArray();
+    }
+
+    /**
+     * Intersects the first {@code count} entries of {@code candidates} with {@code other} in place and
+     * returns how many candidates survived.
+     */
+    private static int intersect(int[] candidates, int count, int[] other) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < count && j < other.length; i++) {
+            int position = candidates[i];
+            while (j < other.length && other[j] < position) {
+                j++;
+            }
+            if (j < other.length && other[j] == position) {
+                candidates[kept++] = position;
+            }
+        }
+        return kept;
+    }
+
+    private static long trigram(String folded, int start) {
+        return ((long) folded.charAt(start) << 32) | ((long) folded.charAt(start + 1) << 16) | folded.charAt(start + 2);
+    }
+
+    private static final class PostingList {
+        private int[] positions = new int[4];
+        private int size;
+
+        void add(int position) {
+            if (size > 0 && positions[size - 1] == position) {
+                return;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+}
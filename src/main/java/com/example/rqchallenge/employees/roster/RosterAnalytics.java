@@ -0,0 +1,117 @@
+package com.example.rqchallenge.employees.roster;
+
+import com.example.rqchallenge.employees.model.EmployeeAnalytics;
+import com.example.rqchallenge.employees.model.EmployeeRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Computes {@link EmployeeAnalytics} for a roster. The salary index already holds the salaries in order, so the
+ * minimum, maximum, median and 90th percentile are read from it by rank. The sum, the histogram and the age bands
+ * are gathered in a single pass over the records into primitive accumulators, which is split across the
+ * fork-join pool for large rosters and merged per chunk.
+ */
+final class RosterAnalytics {
+
+    static final int MAX_BUCKETS = 1000;
+    private static final int[] AGE_BAND_STARTS = {25, 35, 45, 55, 65};
+    private static final String[] AGE_BAND_NAMES = {"<25", "25-34", "35-44", "45-54", "55-64", "65+"};
+
+    private RosterAnalytics() {
+    }
+
+    static EmployeeAnalytics compute(List<EmployeeRecord> records, SalaryIndex salaryIndex, int quarantinedCount, int salaryBucketWidth, int parallelThreshold) {
+        int count = records.size();
+        if (count == 0) {
+            return new EmployeeAnalytics(0, quarantinedCount, null, List.of(), ageBands(new int[AGE_BAND_NAMES.length]));
+        }
+        int max = salaryIndex.getSalary(0);
+        int min = salaryIndex.getSalary(count - 1);
+        long width = bucketWidth(min, max, salaryBucketWidth);
+        long firstBucket = Math.floorDiv(min, width);
+        int buckets = (int) (Math.floorDiv(max, width) - firstBucket + 1);
+
+        IntStream positions = IntStream.range(0, count);
+        if (count >= parallelThreshold) {
+            positions = positions.parallel();
+        }
+        Accumulator totals = positions.collect(
+                () -> new Accumulator(buckets),
+                (accumulator, position) -> accumulator.add(records.get(position), width, firstBucket),
+                Accumulator::merge);
+
+        EmployeeAnalytics.SalaryStatistics salary = new EmployeeAnalytics.SalaryStatistics(min, max,
+                (double) totals.salarySum / count, median(salaryIndex, count), ascending(salaryIndex, count, (int) Math.ceil(count * 0.9) - 1));
+        List<EmployeeAnalytics.SalaryBucket> histogram = new ArrayList<>(buckets);
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            long from = (firstBucket + bucket) * width;
+            histogram.add(new EmployeeAnalytics.SalaryBucket(from, from + width, totals.histogram[bucket]));
+        }
+        return new EmployeeAnalytics(count, quarantinedCount, salary, histogram, ageBands(totals.ageBands));
+    }
+
+    /**
+     * The configured width, widened if needed so that the salary range spans at most {@link #MAX_BUCKETS} buckets.
+     */
+    private static long bucketWidth(int min, int max, int salaryBucketWidth) {
+        long width = Math.max(1, salaryBucketWidth);
+        long range = (long) max - min + 1;
+        if (range > width * (MAX_BUCKETS - 1)) {
+            width = (range + MAX_BUCKETS - 2) / (MAX_BUCKETS - 1);
+        }
+        return width;
+    }
+
+    private static double median(SalaryIndex salaryIndex, int count) {
+        if (count % 2 == 1) {
+            return ascending(salaryIndex, count, count / 2);
+        }
+        return ((long) ascending(salaryIndex, count, count / 2 - 1) + ascending(salaryIndex, count, count / 2)) / 2.0;
+    }
+
+    private static int ascending(SalaryIndex salaryIndex, int count, int rank) {
+        return salaryIndex.getSalary(count - 1 - rank);
+    }
+
+    private static List<EmployeeAnalytics.AgeBand> ageBands(int[] counts) {
+        List<EmployeeAnalytics.AgeBand> bands = new ArrayList<>(counts.length);
+        for (int band = 0; band < counts.length; band++) {
+            bands.add(new EmployeeAnalytics.AgeBand(AGE_BAND_NAMES[band], counts[band]));
+        }
+        return bands;
+    }
+
+    private static final class Accumulator {
+
+        private long salarySum;
+        private final int[] histogram;
+        private final int[] ageBands = new int[AGE_BAND_NAMES.length];
+
+        Accumulator(int buckets) {
+            this.histogram = new int[buckets];
+        }
+
+        void add(EmployeeRecord record, long width, long firstBucket) {
+            int salary = record.getSalary();
+            salarySum += salary;
+            histogram[(int) (Math.floorDiv(salary, width) - firstBucket)]++;
+            int band = 0;
+            while (band < AGE_BAND_STARTS.length && record.getAge() >= AGE_BAND_STARTS[band]) {
+                band++;
+            }
+            ageBands[band]++;
+        }
+
+        void merge(Accumulator other) {
+            salarySum += other.salarySum;
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] += other.histogram[i];
+            }
+            for (int i = 0; i < ageBands.length; i++) {
+                ageBands[i] += other.ageBands[i];
+            }
+        }
+    }
+}
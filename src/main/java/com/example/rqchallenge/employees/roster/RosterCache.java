@@ -0,0 +1,304 @@
+package com.example.rqchallenge.employees.roster;
+
+import com.example.rqchallenge.config.EmployeeProperties;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeResponse;
+import com.example.rqchallenge.employees.model.RosterChange;
+import com.example.rqchallenge.employees.upstream.EmployeeClient;
+import com.example.rqchallenge.employees.upstream.RequestCoalescer;
+import com.example.rqchallenge.employees.upstream.UpstreamException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the latest roster snapshot and refreshes it with stale-while-revalidate semantics: once the
+ * snapshot is older than the configured TTL callers keep receiving it while a single background
+ * refresh replaces it. Only the very first load is awaited by callers. Every loaded roster also refills the
+ * {@link EmployeeCache}, in the same step that installs it, so an employee deleted here is never cached again from a
+ * roster requested before the delete.
+ * <p>
+ * If a snapshot file is configured, every upstream roster whose content changed is written to it in the background,
+ * one at a time and in version order, so an older roster never replaces a newer one in the file; at startup the file is restored as the first snapshot. A restored snapshot is served right away but counts as
+ * stale: the first read triggers a refresh, and it stays flagged until a refresh succeeds.
+ * <p>
+ * Registered {@link RosterChangeListener}s receive the employees added, removed or changed by every replacement of
+ * the snapshot, whether by a refresh or by a create or delete made through this service. Replacements are serialized
+ * and numbered in the order they are installed, so versions only increase and listeners see the changes in that
+ * order. A refresh may have been requested before a create or delete recorded here reached the upstream, so every
+ * local write recorded after the request is applied again on top of the refreshed roster.
+ */
+@Component
+public class RosterCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RosterCache.class);
+    private static final String ROSTER_KEY = "employees";
+
+    private final EmployeeClient employeeClient;
+    private final EmployeeCache employeeCache;
+    private final Duration ttl;
+    private final AtomicReference<RosterSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final RequestCoalescer<String, RosterSnapshot> refreshCoalescer;
+    private final RosterSnapshotFile snapshotFile;
+    private final ExecutorService snapshotWriter;
+    private String persistedContentHash;
+    private long persistedVersion;
+    private final List<RosterChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private final Object replaceLock = new Object();
+    private final List<LocalWrite> localWrites = new ArrayList<>();
+    private long localWriteSequence;
+
+    public RosterCache(EmployeeClient employeeClient, EmployeeCache employeeCache, EmployeeProperties properties, MeterRegistry meterRegistry) {
+        this.employeeClient = employeeClient;
+        this.employeeCache = employeeCache;
+        this.ttl = properties.getRoster().getTtl();
+        this.refreshCoalescer = new RequestCoalescer<>(ROSTER_KEY, meterRegistry);
+        Path snapshotPath = properties.getRoster().getSnapshotFile();
+        this.snapshotFile = snapshotPath == null ? null : new RosterSnapshotFile(snapshotPath);
+        this.snapshotWriter = snapshotPath == null ? null : Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "roster-snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (snapshotFile != null) {
+            restore();
+        }
+        Gauge.builder("employees.roster.restored", snapshot, current -> current.get() != null && current.get().isRestored() ? 1 : 0)
+                .description("Whether the roster being served was restored from the snapshot file and not yet refreshed")
+                .register(meterRegistry);
+        Gauge.builder("employees.roster.quarantined", snapshot, current -> current.get() == null ? 0 : current.get().getQuarantinedCount())
+                .description("Employees in the current roster snapshot whose salary or age could not be parsed")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<RosterSnapshot> getSnapshot() {
+        RosterSnapshot current = snapshot.get();
+        if (current == null) {
+            return refresh();
+        }
+        if (current.isRestored() || current.isOlderThan(ttl)) {
+            logger.debug("Roster snapshot v{} is stale, revalidating in the background.", current.getVersion());
+            refresh();
+        }
+        return CompletableFuture.completedFuture(current);
+    }
+
+    /**
+     * @return the snapshot currently held, however old, or {@code null} if none has been loaded yet; never triggers a load
+     */
+    public RosterSnapshot getCurrentSnapshot() {
+        return snapshot.get();
+    }
+
+    public void addChangeListener(RosterChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public CompletableFuture<RosterSnapshot> refresh() {
+        return refreshCoalescer.execute(ROSTER_KEY, () -> {
+            long writesSeen = lastLocalWrite();
+            return employeeClient.getEmployees()
+                    .thenApply(response -> install(toEmployees(response), writesSeen))
+                    .whenComplete((loaded, error) -> {
+                        if (error != null) {
+                            logger.error("Failed to refresh the employee roster.", error);
+                        } else {
+                            persist(loaded);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Applies an employee created upstream to the current snapshot as a new version.
+     */
+    public void recordCreated(Employee employee) {
+        synchronized (replaceLock) {
+            localWrites.add(new LocalWrite(++localWriteSequence, employee, null));
+            RosterSnapshot current = snapshot.get();
+            if (current == null) {
+                return;
+            }
+            RosterSnapshot updated = current.withEmployee(versions.incrementAndGet(), employee);
+            snapshot.set(updated);
+            logger.info("Added employee {} to roster snapshot v{}.", employee.getId(), updated.getVersion());
+            publish(List.of(new RosterChange(RosterChange.Type.ADDED, employee, updated.getVersion())));
+        }
+    }
+
+    /**
+     * Removes an employee deleted upstream from the current snapshot as a new version, if the snapshot holds it.
+     */
+    public void recordDeleted(String id) {
+        synchronized (replaceLock) {
+            localWrites.add(new LocalWrite(++localWriteSequence, null, id));
+            employeeCache.invalidate(id);
+            RosterSnapshot current = snapshot.get();
+            Employee removed = current == null ? null : current.findEmployee(id);
+            if (removed == null) {
+                return;
+            }
+            RosterSnapshot updated = current.withoutEmployee(versions.incrementAndGet(), id);
+            snapshot.set(updated);
+            logger.info("Removed employee {} from roster snapshot v{}.", id, updated.getVersion());
+            publish(List.of(new RosterChange(RosterChange.Type.REMOVED, removed, updated.getVersion())));
+        }
+    }
+
+    private long lastLocalWrite() {
+        synchronized (replaceLock) {
+            return localWriteSequence;
+        }
+    }
+
+    /**
+     * Installs a roster loaded from the upstream as the next version.
+     *
+     * @param writesSeen the last local write recorded before the roster was requested; later ones are applied again
+     */
+    private RosterSnapshot install(List<Employee> employees, long writesSeen) {
+        synchronized (replaceLock) {
+            RosterSnapshot loaded = new RosterSnapshot(versions.incrementAndGet(), employees, System.nanoTime());
+            logger.info("Loaded roster snapshot v{} with {} employees.", loaded.getVersion(), employees.size());
+            if (loaded.getQuarantinedCount() > 0) {
+                logger.warn("Quarantined {} malformed employees in roster snapshot v{}.", loaded.getQuarantinedCount(), loaded.getVersion());
+            }
+            localWrites.removeIf(write -> write.sequence <= writesSeen);
+            for (LocalWrite write : localWrites) {
+                loaded = write.applyTo(loaded);
+            }
+            if (!localWrites.isEmpty()) {
+                logger.info("Applied {} local writes made since the request again to roster snapshot v{}.", localWrites.size(), loaded.getVersion());
+            }
+            RosterSnapshot previous = snapshot.getAndSet(loaded);
+            employeeCache.putAll(loaded.getEmployees());
+            if (previous != null && !changeListeners.isEmpty()) {
+                List<RosterChange> changes = RosterDiff.between(previous, loaded);
+                logger.info("Roster snapshot v{} differs from v{} in {} employees.", loaded.getVersion(), previous.getVersion(), changes.size());
+                publish(changes);
+            }
+            return loaded;
+        }
+    }
+
+    private void publish(List<RosterChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        for (RosterChangeListener listener : changeListeners) {
+            try {
+                listener.onChanges(changes);
+            } catch (RuntimeException e) {
+                logger.error("Roster change listener {} failed.", listener, e);
+            }
+        }
+    }
+
+    private void restore() {
+        long started = System.nanoTime();
+        RosterSnapshotFile.Contents contents;
+        try {
+            contents = snapshotFile.read();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable roster snapshot file {}.", snapshotFile.getPath(), e);
+            return;
+        }
+        if (contents == null) {
+            logger.info("No roster snapshot file at {}, the first roster is loaded from the upstream.", snapshotFile.getPath());
+            return;
+        }
+        RosterSnapshot restored = new RosterSnapshot(versions.incrementAndGet(), contents.getEmployees(), System.nanoTime(), true);
+        snapshot.compareAndSet(null, restored);
+        employeeCache.putAll(restored.getEmployees());
+        persistedContentHash = restored.getContentHash();
+        persistedVersion = restored.getVersion();
+        logger.info("Restored roster snapshot v{} with {} employees saved at {} from {} in {} ms.", restored.getVersion(), restored.getEmployees().size(),
+                contents.getSavedAt(), snapshotFile.getPath(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    /**
+     * @return a future that completes once every roster handed to the snapshot file so far has been saved or skipped
+     */
+    public CompletableFuture<Void> flushSnapshotFile() {
+        return snapshotWriter == null ? CompletableFuture.completedFuture(null) : CompletableFuture.runAsync(() -> { }, snapshotWriter);
+    }
+
+    /**
+     * Queues the roster to be saved by the single snapshot writer, which skips it if a newer roster or one with the
+     * same content was saved already.
+     */
+    void persist(RosterSnapshot loaded) {
+        if (snapshotWriter == null) {
+            return;
+        }
+        snapshotWriter.execute(() -> {
+            if (loaded.getVersion() <= persistedVersion) {
+                logger.debug("Skipping roster snapshot v{}, v{} is already saved.", loaded.getVersion(), persistedVersion);
+                return;
+            }
+            persistedVersion = loaded.getVersion();
+            String contentHash = loaded.getContentHash();
+            if (contentHash.equals(persistedContentHash)) {
+                return;
+            }
+            try {
+                snapshotFile.write(loaded.getEmployees(), Instant.now());
+                persistedContentHash = contentHash;
+                logger.info("Saved roster snapshot v{} to {}.", loaded.getVersion(), snapshotFile.getPath());
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Failed to save roster snapshot v{} to {}.", loaded.getVersion(), snapshotFile.getPath(), e);
+            }
+        });
+    }
+
+    private static List<Employee> toEmployees(ResponseEntity<EmployeeResponse> response) {
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null || response.getBody().getData() == null) {
+            throw new UpstreamException(response.getStatusCode(), "Failed to fetch the employee roster.");
+        }
+        return new ArrayList<>(response.getBody().getData());
+    }
+
+    /**
+     * A create or delete made through this service, kept until a roster requested after it has been installed.
+     */
+    private static final class LocalWrite {
+
+        private final long sequence;
+        private final Employee created;
+        private final String deletedId;
+
+        LocalWrite(long sequence, Employee created, String deletedId) {
+            this.sequence = sequence;
+            this.created = created;
+            this.deletedId = deletedId;
+        }
+
+        /**
+         * @return the roster with this write applied, unless it already reflects it
+         */
+        RosterSnapshot applyTo(RosterSnapshot roster) {
+            if (created == null) {
+                return roster.withoutEmployee(roster.getVersion(), deletedId);
+            }
+            return roster.findEmployee(created.getId()) == null ? roster.withEmployee(roster.getVersion(), created) : roster;
+        }
+    }
+}
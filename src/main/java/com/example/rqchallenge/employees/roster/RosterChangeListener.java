@@ -0,0 +1,14 @@
+package com.example.rqchallenge.employees.roster;
+
+import com.example.rqchallenge.employees.model.RosterChange;
+
+import java.util.List;
+
+/**
+ * Receives the differences between each roster snapshot and the one it replaced, in version order. Called on the
+ * thread that replaced the snapshot, so implementations must hand the changes off rather than block.
+ */
+public interface RosterChangeListener {
+
+    void onChanges(List<RosterChange> changes);
+}
@@ -0,0 +1,48 @@
+package com.example.rqchallenge.employees.roster;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.RosterChange;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compares two rosters by employee id using the id index of each snapshot, so a diff costs one lookup per employee
+ * of either roster. Ids that occur more than once in a roster are compared by their first occurrence, the same one
+ * {@link RosterSnapshot#findEmployee(String)} answers with.
+ */
+final class RosterDiff {
+
+    private RosterDiff() {
+    }
+
+    static List<RosterChange> between(RosterSnapshot previous, RosterSnapshot current) {
+        List<RosterChange> changes = new ArrayList<>();
+        long version = current.getVersion();
+        for (Employee employee : current.getEmployees()) {
+            if (current.findEmployee(employee.getId()) != employee) {
+                continue;
+            }
+            Employee before = previous.findEmployee(employee.getId());
+            if (before == null) {
+                changes.add(new RosterChange(RosterChange.Type.ADDED, employee, version));
+            } else if (!sameContent(before, employee)) {
+                changes.add(new RosterChange(RosterChange.Type.CHANGED, employee, version));
+            }
+        }
+        for (Employee employee : previous.getEmployees()) {
+            if (previous.findEmployee(employee.getId()) == employee && current.findEmployee(employee.getId()) == null) {
+                changes.add(new RosterChange(RosterChange.Type.REMOVED, employee, version));
+            }
+        }
+        return changes;
+    }
+
+    private static boolean sameContent(Employee a, Employee b) {
+        return Objects.equals(a.getEmployee_name(), b.getEmployee_name())
+                && Objects.equals(a.getEmployee_salary(), b.getEmployee_salary())
+                && Objects.equals(a.getEmployee_age(), b.getEmployee_age())
+                && Objects.equals(a.getProfile_image(), b.getProfile_image());
+    }
+}
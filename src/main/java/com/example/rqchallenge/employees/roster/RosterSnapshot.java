@@ -0,0 +1,266 @@
+package com.example.rqchallenge.employees.roster;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeAnalytics;
+import com.example.rqchallenge.employees.model.EmployeeRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Immutable, versioned view of the upstream employee roster shared by all read operations.
+ * <p>
+ * Every employee is converted to an {@link EmployeeRecord} once, when the snapshot is ingested.
+ * Employees whose salary or age cannot be parsed are quarantined: they are still listed as received,
+ * but are left out of the typed records that salary aggregations are computed from.
+ */
+public final class RosterSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(RosterSnapshot.class);
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long version;
+    private final List<Employee> employees;
+    private final List<EmployeeRecord> records;
+    private final int quarantinedCount;
+    private final long loadedAtNanos;
+    private final boolean restored;
+    private volatile SalaryIndex salaryIndex;
+    private volatile NameIndex nameIndex;
+    private volatile Map<String, Integer> idIndex;
+    private volatile String contentHash;
+    private volatile EmployeeAnalytics analytics;
+    private final AtomicReferenceArray<SortedView> sortedViews = new AtomicReferenceArray<>(SortKey.values().length * 2);
+
+    RosterSnapshot(long version, List<Employee> employees, long loadedAtNanos) {
+        this(version, employees, loadedAtNanos, false);
+    }
+
+    RosterSnapshot(long version, List<Employee> employees, long loadedAtNanos, boolean restored) {
+        List<EmployeeRecord> ingested = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            EmployeeRecord record = ingest(employee);
+            if (record != null) {
+                ingested.add(record);
+            }
+        }
+        this.version = version;
+        this.employees = Collections.unmodifiableList(employees);
+        this.records = Collections.unmodifiableList(ingested);
+        this.quarantinedCount = employees.size() - ingested.size();
+        this.loadedAtNanos = loadedAtNanos;
+        this.restored = restored;
+    }
+
+    private RosterSnapshot(long version, List<Employee> employees, List<EmployeeRecord> records, long loadedAtNanos, boolean restored, SalaryIndex salaryIndex) {
+        this.version = version;
+        this.employees = Collections.unmodifiableList(employees);
+        this.records = Collections.unmodifiableList(records);
+        this.quarantinedCount = employees.size() - records.size();
+        this.loadedAtNanos = loadedAtNanos;
+        this.restored = restored;
+        this.salaryIndex = salaryIndex;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public List<EmployeeRecord> getRecords() {
+        return records;
+    }
+
+    public int getQuarantinedCount() {
+        return quarantinedCount;
+    }
+
+    /**
+     * @return the employee with the given id, or {@code null} if this roster does not contain it; answered from
+     * a hash index over the ids that is built on first use and then shared by every reader of this version
+     */
+    public Employee findEmployee(String id) {
+        int position = indexOf(id);
+        return position < 0 ? null : employees.get(position);
+    }
+
+    /**
+     * @return a hash over every employee of this roster, in roster order, computed on first use. Unlike the version
+     * it only changes when the content does, so it identifies the same roster across refreshes and across instances.
+     */
+    public String getContentHash() {
+        String hash = contentHash;
+        if (hash == null) {
+            hash = hashContent(employees);
+            contentHash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * @return whether this roster was restored from the local snapshot file rather than loaded from the upstream,
+     * and has not been confirmed by a refresh since
+     */
+    public boolean isRestored() {
+        return restored;
+    }
+
+    public Duration getAge() {
+        return Duration.ofNanos(System.nanoTime() - loadedAtNanos);
+    }
+
+    /**
+     * Salary ordering of this roster, built on first use and then shared by every reader of this version.
+     */
+    public SalaryIndex getSalaryIndex() {
+        SalaryIndex index = salaryIndex;
+        if (index == null) {
+            index = SalaryIndex.build(records);
+            salaryIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Trigram index over the names of this roster, built on first use and then shared by every reader of this version.
+     */
+    public NameIndex getNameIndex() {
+        NameIndex index = nameIndex;
+        if (index == null) {
+            index = NameIndex.build(employees);
+            nameIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Salary and age statistics of this roster, computed on first use and then shared by every reader of this
+     * version. The bucket width and parallel threshold are configuration, so only the first caller's are used.
+     */
+    public EmployeeAnalytics getAnalytics(int salaryBucketWidth, int parallelThreshold) {
+        EmployeeAnalytics computed = analytics;
+        if (computed == null) {
+            computed = RosterAnalytics.compute(records, getSalaryIndex(), quarantinedCount, salaryBucketWidth, parallelThreshold);
+            analytics = computed;
+        }
+        return computed;
+    }
+
+    /**
+     * Ordering of this roster by the given key and direction, built on first use and then shared by every reader
+     * of this version.
+     */
+    public SortedView getSortedView(SortKey key, boolean descending) {
+        int slot = key.ordinal() * 2 + (descending ? 1 : 0);
+        SortedView view = sortedViews.get(slot);
+        if (view == null) {
+            view = SortedView.build(employees, records, key, descending);
+            sortedViews.set(slot, view);
+        }
+        return view;
+    }
+
+    boolean isOlderThan(Duration ttl) {
+        return getAge().compareTo(ttl) >= 0;
+    }
+
+    RosterSnapshot withEmployee(long newVersion, Employee employee) {
+        List<Employee> updatedEmployees = new ArrayList<>(employees.size() + 1);
+        updatedEmployees.addAll(employees);
+        updatedEmployees.add(employee);
+
+        EmployeeRecord record = ingest(employee);
+        if (record == null) {
+            return new RosterSnapshot(newVersion, updatedEmployees, records, loadedAtNanos, restored, salaryIndex);
+        }
+        List<EmployeeRecord> updatedRecords = new ArrayList<>(records.size() + 1);
+        updatedRecords.addAll(records);
+        updatedRecords.add(record);
+
+        SalaryIndex index = salaryIndex;
+        return new RosterSnapshot(newVersion, updatedEmployees, updatedRecords, loadedAtNanos, restored,
+                index == null ? null : index.withAdded(record));
+    }
+
+    RosterSnapshot withoutEmployee(long newVersion, String id) {
+        int position = indexOf(id);
+        if (position < 0) {
+            return this;
+        }
+        List<Employee> updatedEmployees = new ArrayList<>(employees);
+        Employee removed = updatedEmployees.remove(position);
+
+        List<EmployeeRecord> updatedRecords = new ArrayList<>(records);
+        EmployeeRecord removedRecord = null;
+        for (int i = 0; i < updatedRecords.size(); i++) {
+            if (updatedRecords.get(i).getEmployee() == removed) {
+                removedRecord = updatedRecords.remove(i);
+                break;
+            }
+        }
+
+        SalaryIndex index = salaryIndex;
+        return new RosterSnapshot(newVersion, updatedEmployees, updatedRecords, loadedAtNanos, restored,
+                index == null || removedRecord == null ? index : index.withRemoved(removedRecord));
+    }
+
+    private int indexOf(String id) {
+        Map<String, Integer> index = idIndex;
+        if (index == null) {
+            index = buildIdIndex();
+            idIndex = index;
+        }
+        Integer position = index.get(id);
+        return position == null ? -1 : position;
+    }
+
+    private Map<String, Integer> buildIdIndex() {
+        Map<String, Integer> index = new HashMap<>(employees.size() * 4 / 3 + 1);
+        for (int i = 0; i < employees.size(); i++) {
+            index.putIfAbsent(employees.get(i).getId(), i);
+        }
+        return index;
+    }
+
+    private static String hashContent(List<Employee> employees) {
+        long hash = FNV_OFFSET_BASIS;
+        for (Employee employee : employees) {
+            hash = hashField(hash, employee.getId());
+            hash = hashField(hash, employee.getEmployee_name());
+            hash = hashField(hash, employee.getEmployee_salary());
+            hash = hashField(hash, employee.getEmployee_age());
+            hash = hashField(hash, employee.getProfile_image());
+        }
+        return String.format("%016x", hash);
+    }
+
+    private static long hashField(long hash, String value) {
+        if (value == null) {
+            return (hash ^ 0xFFFF) * FNV_PRIME;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return (hash ^ 0xFFFE) * FNV_PRIME;
+    }
+
+    private static EmployeeRecord ingest(Employee employee) {
+        try {
+            return EmployeeRecord.from(employee);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Quarantined employee {}: {}", employee.getId(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.rqchallenge.employees.roster;
+
+import com.example.rqchallenge.employees.model.Employee;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * The last good roster kept on local disk, so a restarted instance has something to serve before the upstream
+ * answers. The file has a fixed layout, all integers big-endian:
+ * <pre>
+ * header   int magic, int format, long saved-at epoch millis, int employee count, int data length, long CRC32 of
+ *          everything after the header
+ * table    per employee and per field (id, name, salary, age, profile image): int offset into data, int byte length,
+ *          or -1 for a missing value
+ * data     the UTF-8 bytes of every field
+ * </pre>
+ * Reading maps the file and decodes the fields straight out of the mapping. Writing goes to a temporary file that
+ * replaces the previous one atomically, so a crash mid-write never leaves a torn file behind.
+ */
+final class RosterSnapshotFile {
+
+    private static final int MAGIC = 0x52515253;
+    private static final int FORMAT = 1;
+    private static final int FIELDS = 5;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4 + 8;
+    private static final int SLOT_BYTES = 8;
+
+    private final Path path;
+
+    RosterSnapshotFile(Path path) {
+        this.path = path;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return the persisted roster, or {@code null} if there is no file
+     * @throws IOException if the file cannot be read or is not a complete roster in this format
+     */
+    Contents read() throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("Truncated roster file " + path + " of " + size + " bytes");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a roster file: " + path);
+            }
+            int format = buffer.getInt();
+            if (format != FORMAT) {
+                throw new IOException("Unsupported roster file format " + format + " in " + path);
+            }
+            long savedAtMillis = buffer.getLong();
+            int count = buffer.getInt();
+            int dataLength = buffer.getInt();
+            long checksum = buffer.getLong();
+            long tableBytes = (long) count * FIELDS * SLOT_BYTES;
+            if (count < 0 || dataLength < 0 || HEADER_BYTES + tableBytes + dataLength != size) {
+                throw new IOException("Roster file " + path + " of " + size + " bytes does not match its header");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice());
+            if (crc.getValue() != checksum) {
+                throw new IOException("Checksum mismatch in roster file " + path);
+            }
+
+            ByteBuffer data = buffer.duplicate();
+            data.position(HEADER_BYTES + (int) tableBytes);
+            data = data.slice();
+            List<Employee> employees = new ArrayList<>(count);
+            String[] fields = new String[FIELDS];
+            for (int i = 0; i < count; i++) {
+                for (int field = 0; field < FIELDS; field++) {
+                    int offset = buffer.getInt();
+                    int length = buffer.getInt();
+                    if (offset < 0) {
+                        fields[field] = null;
+                    } else if (length < 0 || (long) offset + length > dataLength) {
+                        throw new IOException("Field out of bounds in roster file " + path);
+                    } else {
+                        fields[field] = decode(data, offset, length);
+                    }
+                }
+                employees.add(new Employee(fields[0], fields[1], fields[2], fields[3], fields[4]));
+            }
+            return new Contents(employees, Instant.ofEpochMilli(savedAtMillis));
+        }
+    }
+
+    void write(List<Employee> employees, Instant savedAt) throws IOException {
+        int count = employees.size();
+        byte[][] values = new byte[count * FIELDS][];
+        int dataLength = 0;
+        for (int i = 0; i < count; i++) {
+            Employee employee = employees.get(i);
+            String[] fields = {employee.getId(), employee.getEmployee_name(), employee.getEmployee_salary(), employee.getEmployee_age(), employee.getProfile_image()};
+            for (int field = 0; field < FIELDS; field++) {
+                byte[] value = fields[field] == null ? null : fields[field].getBytes(StandardCharsets.UTF_8);
+                values[i * FIELDS + field] = value;
+                dataLength += value == null ? 0 : value.length;
+            }
+        }
+
+        ByteBuffer body = ByteBuffer.allocate(count * FIELDS * SLOT_BYTES + dataLength);
+        int offset = 0;
+        for (byte[] value : values) {
+            body.putInt(value == null ? -1 : offset).putInt(value == null ? -1 : value.length);
+            offset += value == null ? 0 : value.length;
+        }
+        for (byte[] value : values) {
+            if (value != null) {
+                body.put(value);
+            }
+        }
+        body.flip();
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC)
+                .putInt(FORMAT)
+                .putLong(savedAt.toEpochMilli())
+                .putInt(count)
+                .putInt(dataLength)
+                .putLong(crc.getValue());
+        header.flip();
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                while (header.hasRemaining() || body.hasRemaining()) {
+                    channel.write(new ByteBuffer[]{header, body});
+                }
+                channel.force(false);
+            }
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static String decode(ByteBuffer data, int offset, int length) {
+        byte[] bytes = new byte[length];
+        data.position(offset);
+        data.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static final class Contents {
+
+        private final List<Employee> employees;
+        private final Instant savedAt;
+
+        Contents(List<Employee> employees, Instant savedAt) {
+            this.employees = employees;
+            this.savedAt = savedAt;
+        }
+
+        List<Employee> getEmployees() {
+            return employees;
+        }
+
+        Instant getSavedAt() {
+            return savedAt;
+        }
+    }
+}
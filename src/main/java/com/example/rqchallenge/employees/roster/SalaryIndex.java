@@ -0,0 +1,116 @@
+package com.example.rqchallenge.employees.roster;
+
+import com.example.rqchallenge.employees.model.EmployeeRecord;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Employees ordered by salary, highest first, with ties kept in roster order. Salaries are copied
+ * into a primitive array when the index is built, so the highest salary is a single read and
+ * the top N earners are a prefix of the array. Created and deleted employees are spliced in and out
+ * of an existing index instead of re-sorting the whole roster.
+ */
+public final class SalaryIndex {
+
+    private final int[] salaries;
+    private final EmployeeRecord[] employees;
+
+    private SalaryIndex(int[] salaries, EmployeeRecord[] employees) {
+        this.salaries = salaries;
+        this.employees = employees;
+    }
+
+    static SalaryIndex build(List<EmployeeRecord> roster) {
+        int size = roster.size();
+        long[] keys = new long[size];
+        for (int position = 0; position < size; position++) {
+            int salary = roster.get(position).getSalary();
+            // ~salary sorts the high word descending by salary; the low word keeps roster order for ties.
+            keys[position] = ((long) ~salary << 32) | position;
+        }
+        Arrays.sort(keys);
+
+        int[] salaries = new int[size];
+        EmployeeRecord[] employees = new EmployeeRecord[size];
+        for (int i = 0; i < size; i++) {
+            salaries[i] = ~(int) (keys[i] >> 32);
+            employees[i] = roster.get((int) keys[i]);
+        }
+        return new SalaryIndex(salaries, employees);
+    }
+
+    public int size() {
+        return salaries.length;
+    }
+
+    public int getHighestSalary() {
+        return salaries.length == 0 ? 0 : salaries[0];
+    }
+
+    /**
+     * @return the salary at the given position, counted from the highest
+     */
+    int getSalary(int position) {
+        return salaries[position];
+    }
+
+    public List<String> getTopEarnerNames(int limit) {
+        int count = Math.min(limit, employees.length);
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(employees[i].getName());
+        }
+        return names;
+    }
+
+    SalaryIndex withAdded(EmployeeRecord employee) {
+        int salary = employee.getSalary();
+        int insertAt = firstBelow(salary);
+        int[] newSalaries = new int[salaries.length + 1];
+        EmployeeRecord[] newEmployees = new EmployeeRecord[employees.length + 1];
+        System.arraycopy(salaries, 0, newSalaries, 0, insertAt);
+        System.arraycopy(employees, 0, newEmployees, 0, insertAt);
+        newSalaries[insertAt] = salary;
+        newEmployees[insertAt] = employee;
+        System.arraycopy(salaries, insertAt, newSalaries, insertAt + 1, salaries.length - insertAt);
+        System.arraycopy(employees, insertAt, newEmployees, insertAt + 1, employees.length - insertAt);
+        return new SalaryIndex(newSalaries, newEmployees);
+    }
+
+    SalaryIndex withRemoved(EmployeeRecord employee) {
+        int salary = employee.getSalary();
+        int position = firstBelow(salary) - 1;
+        while (position >= 0 && salaries[position] == salary && employees[position] != employee) {
+            position--;
+        }
+        if (position < 0 || employees[position] != employee) {
+            return this;
+        }
+        int[] newSalaries = new int[salaries.length - 1];
+        EmployeeRecord[] newEmployees = new EmployeeRecord[employees.length - 1];
+        System.arraycopy(salaries, 0, newSalaries, 0, position);
+        System.arraycopy(employees, 0, newEmployees, 0, position);
+        System.arraycopy(salaries, position + 1, newSalaries, position, salaries.length - position - 1);
+        System.arraycopy(employees, position + 1, newEmployees, position, employees.length - position - 1);
+        return new SalaryIndex(newSalaries, newEmployees);
+    }
+
+    /**
+     * Position of the first entry earning strictly less than {@code salary}, i.e. just after all equal salaries.
+     */
+    private int firstBelow(int salary) {
+        int low = 0;
+        int high = salaries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (salaries[mid] >= salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
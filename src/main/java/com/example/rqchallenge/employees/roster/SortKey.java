@@ -0,0 +1,10 @@
+package com.example.rqchallenge.employees.roster;
+
+/**
+ * Properties a roster can be ordered by; see {@link RosterSnapshot#getSortedView(SortKey, boolean)}.
+ */
+public enum SortKey {
+    SALARY,
+    AGE,
+    NAME
+}
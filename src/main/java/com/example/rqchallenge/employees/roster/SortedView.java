@@ -0,0 +1,130 @@
+package com.example.rqchallenge.employees.roster;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeRecord;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * One ordering of a roster, kept as the roster positions in sorted order so that a page is a slice of the
+ * array rather than a sort. Ties keep roster order. Employees without a value for the key (a quarantined salary
+ * or age, a missing name) follow the sorted ones in roster order, whichever the direction.
+ */
+public final class SortedView {
+
+    private final List<Employee> employees;
+    private final int[] order;
+    private volatile int[] ranks;
+
+    private SortedView(List<Employee> employees, int[] order) {
+        this.employees = employees;
+        this.order = order;
+    }
+
+    static SortedView build(List<Employee> employees, List<EmployeeRecord> records, SortKey key, boolean descending) {
+        int[] order = key == SortKey.NAME ? byName(employees, descending) : byValue(employees, records, key, descending);
+        return new SortedView(employees, order);
+    }
+
+    public int size() {
+        return order.length;
+    }
+
+    /**
+     * @return the employees at sorted positions {@code [from, to)}, copied in O(to - from)
+     */
+    public List<Employee> slice(int from, int to) {
+        List<Employee> page = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            page.add(employees.get(order[i]));
+        }
+        return page;
+    }
+
+    /**
+     * Puts roster positions, such as the matches of a name search, into the order of this view. Costs
+     * O(m log m) in the number of positions, independent of the roster size.
+     */
+    public int[] sort(int[] positions) {
+        int[] rankOf = ranks();
+        int[] sorted = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            sorted[i] = rankOf[positions[i]];
+        }
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = order[sorted[i]];
+        }
+        return sorted;
+    }
+
+    private int[] ranks() {
+        int[] rankOf = ranks;
+        if (rankOf == null) {
+            rankOf = new int[order.length];
+            for (int rank = 0; rank < order.length; rank++) {
+                rankOf[order[rank]] = rank;
+            }
+            ranks = rankOf;
+        }
+        return rankOf;
+    }
+
+    /**
+     * Records are the ingested subsequence of the roster, so one pass pairs each with its position. The value and
+     * the position are packed into one long, which makes a primitive sort stable; descending values are stored as
+     * their complement, which reverses the order without overflowing.
+     */
+    private static int[] byValue(List<Employee> employees, List<EmployeeRecord> records, SortKey key, boolean descending) {
+        long[] keys = new long[records.size()];
+        int[] unsorted = new int[employees.size()];
+        int sortable = 0;
+        int unsortable = 0;
+        int next = 0;
+        for (int position = 0; position < employees.size(); position++) {
+            if (next < records.size() && records.get(next).getEmployee() == employees.get(position)) {
+                EmployeeRecord record = records.get(next++);
+                long value = key == SortKey.SALARY ? record.getSalary() : record.getAge();
+                keys[sortable++] = (descending ? ~value : value) << 32 | position;
+            } else {
+                unsorted[unsortable++] = position;
+            }
+        }
+        Arrays.sort(keys, 0, sortable);
+
+        int[] order = new int[employees.size()];
+        for (int i = 0; i < sortable; i++) {
+            order[i] = (int) keys[i];
+        }
+        System.arraycopy(unsorted, 0, order, sortable, unsortable);
+        return order;
+    }
+
+    private static int[] byName(List<Employee> employees, boolean descending) {
+        String[] foldedNames = new String[employees.size()];
+        List<Integer> named = new ArrayList<>(employees.size());
+        List<Integer> unnamed = new ArrayList<>();
+        for (int position = 0; position < employees.size(); position++) {
+            String name = employees.get(position).getEmployee_name();
+            if (name == null) {
+                unnamed.add(position);
+            } else {
+                foldedNames[position] = name.toLowerCase();
+                named.add(position);
+            }
+        }
+        Comparator<Integer> byFoldedName = Comparator.comparing(position -> foldedNames[position]);
+        // List.sort is stable, so equal names keep roster order in both directions.
+        named.sort(descending ? byFoldedName.reversed() : byFoldedName);
+        named.addAll(unnamed);
+
+        int[] order = new int[named.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = named.get(i);
+        }
+        return order;
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.rqchallenge.employees.service;
 
+import com.example.rqchallenge.employees.model.BatchItemResult;
 import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeAnalytics;
+import com.example.rqchallenge.employees.model.EmployeeQuery;
+import com.example.rqchallenge.employees.model.EmployeesByIdsResponse;
 import org.springframework.http.ResponseEntity;
 
 import java.util.List;
@@ -11,15 +15,27 @@ public interface EmployeeService {
 
     CompletableFuture<ResponseEntity<List<Employee>>> getAllEmployees();
 
+    CompletableFuture<ResponseEntity<List<Employee>>> getEmployees(EmployeeQuery query);
+
     CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(String searchString);
 
+    CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(String searchString, EmployeeQuery query);
+
     CompletableFuture<ResponseEntity<Employee>> getEmployeeById(String id);
 
+    CompletableFuture<ResponseEntity<EmployeesByIdsResponse>> getEmployeesByIds(List<String> ids);
+
     CompletableFuture<ResponseEntity<Integer>> getHighestSalaryOfEmployees();
 
     CompletableFuture<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames();
 
+    CompletableFuture<ResponseEntity<EmployeeAnalytics>> getEmployeeAnalytics();
+
     CompletableFuture<ResponseEntity<String>> createEmployee(Map<String, Object> employeeInput);
 
     CompletableFuture<ResponseEntity<String>> deleteEmployeeById(String id);
+
+    CompletableFuture<ResponseEntity<List<BatchItemResult>>> createEmployees(List<Map<String, Object>> employeeInputs);
+
+    CompletableFuture<ResponseEntity<List<BatchItemResult>>> deleteEmployeesByIds(List<String> ids);
 }
@@ -1,215 +1,493 @@
 package com.example.rqchallenge.employees.service;
 
+import com.example.rqchallenge.config.EmployeeProperties;
+import com.example.rqchallenge.employees.model.BatchItemResult;
 import com.example.rqchallenge.employees.model.Employee;
-import com.example.rqchallenge.employees.model.EmployeeResponse;
+import com.example.rqchallenge.employees.model.EmployeeAnalytics;
+import com.example.rqchallenge.employees.model.EmployeeQuery;
 import com.example.rqchallenge.employees.model.EmployeeResponseSingle;
+import com.example.rqchallenge.employees.model.EmployeesByIdsResponse;
+import com.example.rqchallenge.employees.model.SalaryLeaders;
+import com.example.rqchallenge.employees.roster.EmployeeCache;
+import com.example.rqchallenge.employees.roster.RosterCache;
+import com.example.rqchallenge.employees.roster.RosterSnapshot;
+import com.example.rqchallenge.employees.upstream.BulkheadFullException;
+import com.example.rqchallenge.employees.upstream.CircuitOpenException;
+import com.example.rqchallenge.employees.upstream.EmployeeClient;
+import com.example.rqchallenge.employees.upstream.RateLimitedException;
+import com.example.rqchallenge.employees.upstream.RequestCoalescer;
+import com.example.rqchallenge.employees.upstream.UpstreamException;
+import com.example.rqchallenge.employees.upstream.UpstreamFailures;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpMethod;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 @Service
+@Qualifier("core")
 public class EmployeeServiceImpl implements EmployeeService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmployeeServiceImpl.class);
-    private static final String BASE_URL = "https://dummy.restapiexample.com/api/v1";
-    private static final ExecutorService executorService = Executors.newFixedThreadPool(10);
-    private final RestTemplate restTemplate;
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private final EmployeeClient employeeClient;
+    private final RosterCache rosterCache;
+    private final EmployeeCache employeeCache;
+    private final EmployeeProperties.Roster.AggregateSource aggregateSource;
+    private final Duration lookupBudget;
+    private final EmployeeProperties.Batch batch;
+    private final EmployeeProperties.Paging paging;
+    private final EmployeeProperties.Analytics analytics;
+    private final int lookupConcurrency;
+    private final RequestCoalescer<String, Employee> employeeCoalescer;
 
-    public EmployeeServiceImpl(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public EmployeeServiceImpl(EmployeeClient employeeClient, RosterCache rosterCache, EmployeeCache employeeCache, EmployeeProperties properties, MeterRegistry meterRegistry) {
+        this.employeeClient = employeeClient;
+        this.rosterCache = rosterCache;
+        this.employeeCache = employeeCache;
+        this.aggregateSource = properties.getRoster().getAggregateSource();
+        this.lookupBudget = properties.getLookup().getBudget();
+        this.batch = properties.getBatch();
+        this.paging = properties.getPaging();
+        this.analytics = properties.getAnalytics();
+        this.lookupConcurrency = properties.getBulkheads().getLookup().getMaxConcurrent();
+        this.employeeCoalescer = new RequestCoalescer<>("employee", meterRegistry);
     }
 
     @Override
     public CompletableFuture<ResponseEntity<List<Employee>>> getAllEmployees() {
         logger.info("Fetching all employees.");
-        String url = BASE_URL + "/employees";
 
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                ResponseEntity<EmployeeResponse> response = restTemplate.getForEntity(url, EmployeeResponse.class);
-                if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                    List<Employee> employees = response.getBody().getData();
+        return rosterCache.getSnapshot()
+                .thenApply(snapshot -> {
+                    List<Employee> employees = snapshot.getEmployees();
                     logger.info("Successfully fetched {} employees.", employees.size());
-                    return ResponseEntity.ok(employees);
-                } else {
-                    logger.error("Failed to fetch employees. Status code: {}", response.getStatusCode());
-                    return ResponseEntity.status(response.getStatusCode()).build();
-                }
-            } catch (Exception e) {
-                logger.error("Error occurred while fetching employees.", e);
-                return ResponseEntity.status(500).build();
-            }
-        }, executorService);
+                    return snapshotResponse(snapshot).body(employees);
+                })
+                .exceptionally(e -> {
+                    logger.error("Error occurred while fetching employees.", e);
+                    return errorResponse(e);
+                });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployees(EmployeeQuery query) {
+        logger.info("Fetching employees, page {} of size {} sorted by {}.", query.getPage(), query.getSize(), query.getSort());
+
+        PageRequest pageRequest;
+        try {
+            pageRequest = PageRequest.of(query, paging);
+        } catch (IllegalArgumentException e) {
+            logger.error("Rejected employee query: {}", e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return rosterCache.getSnapshot()
+                .thenApply(snapshot -> {
+                    List<Employee> employees = snapshot.getEmployees();
+                    int from = pageRequest.from(employees.size());
+                    int to = pageRequest.to(employees.size());
+                    List<Employee> page = pageRequest.getSortKey() == null
+                            ? employees.subList(from, to)
+                            : snapshot.getSortedView(pageRequest.getSortKey(), pageRequest.isDescending()).slice(from, to);
+                    logger.info("Successfully fetched {} of {} employees.", page.size(), employees.size());
+                    return pageResponse(snapshot, pageRequest, employees.size(), page);
+                })
+                .exceptionally(e -> {
+                    logger.error("Error occurred while fetching employees.", e);
+                    return errorResponse(e);
+                });
     }
 
     @Override
     public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(String searchString) {
+        return getEmployeesByNameSearch(searchString, new EmployeeQuery());
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(String searchString, EmployeeQuery query) {
         logger.info("Searching employees by name: {}", searchString);
-        String url = BASE_URL + "/employees";
-    
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                ResponseEntity<EmployeeResponse> response = restTemplate.getForEntity(url, EmployeeResponse.class);
-                if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                    List<Employee> employees = response.getBody().getData();
-                    List<Employee> filteredEmployees = employees.stream()
-                            .filter(employee -> employee.getEmployee_name() != null && employee.getEmployee_name().toLowerCase().contains(searchString.toLowerCase()))
-                            .collect(Collectors.toList());
-                    logger.info("Found {} employees matching the search string '{}'.", filteredEmployees.size(), searchString);
-                    return ResponseEntity.ok(filteredEmployees);
-                } else {
-                    logger.error("Failed to search employees. Status code: {}", response.getStatusCode());
-                    return ResponseEntity.status(response.getStatusCode()).build();
-                }
-            } catch (Exception e) {
-                logger.error("Error occurred while searching employees.", e);
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-            }
-        }, executorService);
+
+        PageRequest pageRequest;
+        try {
+            pageRequest = PageRequest.of(query, paging);
+        } catch (IllegalArgumentException e) {
+            logger.error("Rejected employee search: {}", e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return rosterCache.getSnapshot()
+                .thenApply(snapshot -> {
+                    int[] matches = snapshot.getNameIndex().searchPositions(searchString);
+                    if (pageRequest.getSortKey() != null) {
+                        matches = snapshot.getSortedView(pageRequest.getSortKey(), pageRequest.isDescending()).sort(matches);
+                    }
+                    int from = pageRequest.from(matches.length);
+                    int to = pageRequest.to(matches.length);
+                    List<Employee> page = new ArrayList<>(to - from);
+                    for (int i = from; i < to; i++) {
+                        page.add(snapshot.getEmployees().get(matches[i]));
+                    }
+                    logger.info("Found {} employees matching the search string '{}'.", matches.length, searchString);
+                    return pageResponse(snapshot, pageRequest, matches.length, page);
+                })
+                .exceptionally(e -> {
+                    logger.error("Error occurred while searching employees.", e);
+                    return errorResponse(e);
+                });
     }
-    
 
     @Override
     public CompletableFuture<ResponseEntity<Employee>> getEmployeeById(String id) {
         logger.info("Fetching employee by id: {}", id);
-        String url = BASE_URL + "/employee/" + id;
 
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                ResponseEntity<EmployeeResponseSingle> response = restTemplate.getForEntity(url, EmployeeResponseSingle.class);
-                if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                    Employee employee = response.getBody().getData();
+        Employee cachedEmployee = employeeCache.get(id);
+        if (cachedEmployee != null) {
+            logger.info("Serving employee with id {} from the employee cache.", id);
+            return CompletableFuture.completedFuture(ResponseEntity.ok(cachedEmployee));
+        }
+        return employeeCoalescer.execute(id, () -> employeeClient.getEmployee(id).thenApply(response -> toEmployee(id, response)))
+                .copy()
+                .orTimeout(lookupBudget.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(employee -> {
                     logger.info("Successfully fetched employee with id: {}", id);
+                    employeeCache.put(employee);
                     return ResponseEntity.ok(employee);
-                } else {
-                    logger.error("Failed to fetch employee. Status code: {}", response.getStatusCode());
-                    return ResponseEntity.status(response.getStatusCode()).build();
-                }
-            } catch (Exception e) {
-                logger.error("Error occurred while fetching employee by id.", e);
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-            }
-        }, executorService);
+                })
+                .exceptionally(e -> {
+                    RosterSnapshot snapshot = rosterCache.getCurrentSnapshot();
+                    Employee cached = snapshot == null ? null : snapshot.findEmployee(id);
+                    if (UpstreamFailures.isUnavailable(e) && cached != null) {
+                        logger.warn("Lookup of employee {} failed or exceeded its {} budget, serving it from roster snapshot v{}.", id, lookupBudget, snapshot.getVersion(), e);
+                        return ResponseEntity.ok().header(HttpHeaders.WARNING, STALE_WARNING).body(cached);
+                    }
+                    logger.error("Error occurred while fetching employee by id.", e);
+                    return errorResponse(e);
+                });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<EmployeesByIdsResponse>> getEmployeesByIds(List<String> ids) {
+        logger.info("Fetching {} employees by id.", ids.size());
+
+        List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinctIds.size() > batch.getMaxItems()) {
+            logger.error("Rejected lookup of {} employee ids, the limit is {}.", distinctIds.size(), batch.getMaxItems());
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build());
+        }
+        return rosterCache.getSnapshot()
+                .handle((snapshot, e) -> {
+                    if (e != null) {
+                        logger.warn("No roster snapshot available, looking up all {} ids upstream.", distinctIds.size(), e);
+                    }
+                    return snapshot;
+                })
+                .thenCompose(snapshot -> {
+                    Map<String, Employee> resolved = new HashMap<>();
+                    List<String> misses = new ArrayList<>();
+                    for (String id : distinctIds) {
+                        Employee employee = snapshot == null ? null : snapshot.findEmployee(id);
+                        if (employee != null) {
+                            resolved.put(id, employee);
+                        } else {
+                            misses.add(id);
+                        }
+                    }
+                    logger.info("Resolved {} of {} ids from the roster snapshot, looking up {} upstream.", resolved.size(), distinctIds.size(), misses.size());
+                    return FanOut.run(misses, lookupConcurrency, 0, (index, id) -> getEmployeeById(id))
+                            .thenApply(responses -> toEmployeesByIds(distinctIds, resolved, misses, responses));
+                })
+                .thenApply(response -> {
+                    logger.info("Found {} of {} requested employees.", response.getEmployees().size(), distinctIds.size());
+                    return ResponseEntity.ok(response);
+                })
+                .exceptionally(e -> {
+                    logger.error("Error occurred while fetching employees by id.", e);
+                    return errorResponse(e);
+                });
     }
 
     @Override
     public CompletableFuture<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
         logger.info("Fetching the highest salary of employees.");
-        String url = BASE_URL + "/employees";
-
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                ResponseEntity<EmployeeResponse> response = restTemplate.getForEntity(url, EmployeeResponse.class);
-                if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                    List<Employee> employees = response.getBody().getData();
-                    int highestSalary = employees.stream()
-                            .mapToInt(e -> Integer.parseInt(e.getEmployee_salary()))
-                            .max()
-                            .orElse(0);
-                    logger.info("The highest salary among employees is: {}", highestSalary);
-                    return ResponseEntity.ok(highestSalary);
-                } else {
-                    logger.error("Failed to fetch highest salary. Status code: {}", response.getStatusCode());
-                    return ResponseEntity.status(response.getStatusCode()).build();
-                }
-            } catch (Exception e) {
-                logger.error("Error occurred while fetching highest salary of employees.", e);
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-            }
-        }, executorService);
+
+        return getSalaryLeaders(0, SalaryLeaders::getHighestSalary)
+                .thenApply(response -> {
+                    logger.info("The highest salary among employees is: {}", response.getBody());
+                    return response;
+                })
+                .exceptionally(e -> {
+                    logger.error("Error occurred while fetching highest salary of employees.", e);
+                    return errorResponse(e);
+                });
     }
 
     @Override
     public CompletableFuture<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
         logger.info("Fetching top ten highest earning employee names.");
-        String url = BASE_URL + "/employees";
-
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                ResponseEntity<EmployeeResponse> response = restTemplate.getForEntity(url, EmployeeResponse.class);
-                if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                    List<Employee> employees = response.getBody().getData();
-                    List<String> topTenEmployees = employees.stream()
-                            .sorted((e1, e2) -> Integer.compare(Integer.parseInt(e2.getEmployee_salary()), Integer.parseInt(e1.getEmployee_salary())))
-                            .limit(10)
-                            .map(Employee::getEmployee_name)
-                            .collect(Collectors.toList());
+
+        return getSalaryLeaders(10, SalaryLeaders::getTopEarnerNames)
+                .thenApply(response -> {
                     logger.info("Successfully fetched top ten highest earning employee names.");
-                    return ResponseEntity.ok(topTenEmployees);
-                } else {
-                    logger.error("Failed to fetch top ten highest earning employee names. Status code: {}", response.getStatusCode());
-                    return ResponseEntity.status(response.getStatusCode()).build();
-                }
-            } catch (Exception e) {
-                logger.error("Error occurred while fetching top ten highest earning employee names.", e);
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-            }
-        }, executorService);
+                    return response;
+                })
+                .exceptionally(e -> {
+                    logger.error("Error occurred while fetching top ten highest earning employee names.", e);
+                    return errorResponse(e);
+                });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<EmployeeAnalytics>> getEmployeeAnalytics() {
+        logger.info("Fetching employee analytics.");
+
+        return rosterCache.getSnapshot()
+                .thenApply(snapshot -> {
+                    EmployeeAnalytics employeeAnalytics = snapshot.getAnalytics(analytics.getSalaryBucketWidth(), analytics.getParallelThreshold());
+                    logger.info("Successfully computed analytics over {} employees.", employeeAnalytics.getEmployeeCount());
+                    return snapshotResponse(snapshot).body(employeeAnalytics);
+                })
+                .exceptionally(e -> {
+                    logger.error("Error occurred while fetching employee analytics.", e);
+                    return errorResponse(e);
+                });
     }
 
     @Override
     public CompletableFuture<ResponseEntity<String>> createEmployee(Map<String, Object> employeeInput) {
         logger.info("Creating employee with input: {}", employeeInput);
-        String url = BASE_URL + "/create";
-
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.POST,
-                    new org.springframework.http.HttpEntity<>(employeeInput),
-                    new ParameterizedTypeReference<Map<String, Object>>() {}
-                );
-                if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null && "success".equals(response.getBody().get("status"))) {
-                    logger.info("Successfully created employee.");
-                    return ResponseEntity.ok("success");
-                } else {
-                    logger.error("Failed to create employee. Status code: {}", response.getStatusCode());
-                    return ResponseEntity.status(response.getStatusCode()).body("failed");
-                }
-            } catch (Exception e) {
-                logger.error("Error occurred while creating employee.", e);
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("failed");
-            }
-        }, executorService);
+
+        return employeeClient.createEmployee(employeeInput)
+                .thenApply(response -> {
+                    if (isSuccess(response)) {
+                        logger.info("Successfully created employee.");
+                        recordCreated(response.getBody().get("data"));
+                        return ResponseEntity.ok("success");
+                    } else {
+                        logger.error("Failed to create employee. Status code: {}", response.getStatusCode());
+                        return ResponseEntity.status(response.getStatusCode()).body("failed");
+                    }
+                })
+                .exceptionally(e -> {
+                    logger.error("Error occurred while creating employee.", e);
+                    return errorResponse(e, "failed");
+                });
     }
 
     @Override
     public CompletableFuture<ResponseEntity<String>> deleteEmployeeById(String id) {
         logger.info("Deleting employee by id: {}", id);
-        String url = BASE_URL + "/delete/" + id;
-
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                ResponseEntity<Map<String, Object>> deleteResponse = restTemplate.exchange(
-                    url,
-                    HttpMethod.DELETE,
-                    null,
-                    new ParameterizedTypeReference<Map<String, Object>>() {}
-                );
-                if (deleteResponse.getStatusCode().is2xxSuccessful() && deleteResponse.getBody() != null && "success".equals(deleteResponse.getBody().get("status"))) {
-                    logger.info("Successfully deleted employee with id: {}", id);
-                    return ResponseEntity.ok("Employee with id " + id + " has been successfully deleted.");
-                } else {
-                    logger.error("Failed to delete employee. Status code: {}", deleteResponse.getStatusCode());
-                    return ResponseEntity.status(deleteResponse.getStatusCode()).body("Failed to delete employee.");
-                }
-            } catch (Exception e) {
-                logger.error("Error occurred while deleting employee by id.", e);
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to delete employee.");
+
+        return employeeClient.deleteEmployee(id)
+                .thenApply(deleteResponse -> {
+                    if (isSuccess(deleteResponse)) {
+                        logger.info("Successfully deleted employee with id: {}", id);
+                        employeeCache.invalidate(id);
+                        rosterCache.recordDeleted(id);
+                        return ResponseEntity.ok("Employee with id " + id + " has been successfully deleted.");
+                    } else {
+                        logger.error("Failed to delete employee. Status code: {}", deleteResponse.getStatusCode());
+                        return ResponseEntity.status(deleteResponse.getStatusCode()).body("Failed to delete employee.");
+                    }
+                })
+                .exceptionally(e -> {
+                    logger.error("Error occurred while deleting employee by id.", e);
+                    return errorResponse(e, "Failed to delete employee.");
+                });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<BatchItemResult>>> createEmployees(List<Map<String, Object>> employeeInputs) {
+        logger.info("Creating {} employees in a batch.", employeeInputs.size());
+
+        if (employeeInputs.size() > batch.getMaxItems()) {
+            logger.error("Rejected batch of {} employees, the limit is {}.", employeeInputs.size(), batch.getMaxItems());
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build());
+        }
+        return FanOut.run(employeeInputs, batch.getMaxConcurrent(), batch.getRate(), (index, employeeInput) -> employeeClient.createEmployee(employeeInput)
+                        .thenApply(response -> {
+                            if (!isSuccess(response)) {
+                                return BatchItemResult.failed(index, null, "Upstream responded with " + response.getStatusCode() + ".");
+                            }
+                            Employee created = recordCreated(response.getBody().get("data"));
+                            return BatchItemResult.success(index, created == null ? null : created.getId());
+                        })
+                        .exceptionally(e -> BatchItemResult.failed(index, null, failureReason(e))))
+                .thenApply(results -> {
+                    logger.info("Created {} of {} employees in a batch.", countSucceeded(results), results.size());
+                    return ResponseEntity.ok(results);
+                });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<BatchItemResult>>> deleteEmployeesByIds(List<String> ids) {
+        logger.info("Deleting {} employees in a batch.", ids.size());
+
+        if (ids.size() > batch.getMaxItems()) {
+            logger.error("Rejected batch of {} employee ids, the limit is {}.", ids.size(), batch.getMaxItems());
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build());
+        }
+        return FanOut.run(ids, batch.getMaxConcurrent(), batch.getRate(), (index, id) -> employeeClient.deleteEmployee(id)
+                        .thenApply(response -> {
+                            if (!isSuccess(response)) {
+                                return BatchItemResult.failed(index, id, "Upstream responded with " + response.getStatusCode() + ".");
+                            }
+                            employeeCache.invalidate(id);
+                            rosterCache.recordDeleted(id);
+                            return BatchItemResult.success(index, id);
+                        })
+                        .exceptionally(e -> BatchItemResult.failed(index, id, failureReason(e))))
+                .thenApply(results -> {
+                    logger.info("Deleted {} of {} employees in a batch.", countSucceeded(results), results.size());
+                    return ResponseEntity.ok(results);
+                });
+    }
+
+    private Employee recordCreated(Object created) {
+        if (!(created instanceof Map)) {
+            return null;
+        }
+        Employee employee = toEmployee((Map<?, ?>) created);
+        employeeCache.invalidate(employee.getId());
+        rosterCache.recordCreated(employee);
+        return employee;
+    }
+
+    private <T> CompletableFuture<ResponseEntity<T>> getSalaryLeaders(int limit, Function<SalaryLeaders, T> body) {
+        if (aggregateSource == EmployeeProperties.Roster.AggregateSource.STREAMING) {
+            return employeeClient.getSalaryLeaders(limit)
+                    .thenApply(leaders -> ResponseEntity.ok(body.apply(leaders)))
+                    .exceptionally(e -> {
+                        RosterSnapshot snapshot = rosterCache.getCurrentSnapshot();
+                        if (snapshot == null || !UpstreamFailures.isUnavailable(e)) {
+                            throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+                        }
+                        logger.warn("Streaming salary aggregates failed, serving them from roster snapshot v{}.", snapshot.getVersion(), e);
+                        return snapshotResponse(snapshot).body(body.apply(toSalaryLeaders(snapshot, limit)));
+                    });
+        }
+        return rosterCache.getSnapshot().thenApply(snapshot -> snapshotResponse(snapshot).body(body.apply(toSalaryLeaders(snapshot, limit))));
+    }
+
+    private static SalaryLeaders toSalaryLeaders(RosterSnapshot snapshot, int limit) {
+        return new SalaryLeaders(snapshot.getSalaryIndex().getHighestSalary(), snapshot.getSalaryIndex().getTopEarnerNames(limit));
+    }
+
+    private static EmployeesByIdsResponse toEmployeesByIds(List<String> ids, Map<String, Employee> resolved, List<String> misses, List<ResponseEntity<Employee>> responses) {
+        Map<String, HttpStatus> missStatuses = new HashMap<>();
+        for (int i = 0; i < misses.size(); i++) {
+            ResponseEntity<Employee> response = responses.get(i);
+            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                resolved.put(misses.get(i), response.getBody());
+            } else {
+                missStatuses.put(misses.get(i), response.getStatusCode());
             }
-        }, executorService);
+        }
+        List<Employee> employees = new ArrayList<>();
+        List<String> notFound = new ArrayList<>();
+        List<String> failed = new ArrayList<>();
+        for (String id : ids) {
+            Employee employee = resolved.get(id);
+            HttpStatus status = missStatuses.get(id);
+            if (employee != null) {
+                employees.add(employee);
+            } else if (status == HttpStatus.NOT_FOUND || status.is2xxSuccessful()) {
+                notFound.add(id);
+            } else {
+                failed.add(id);
+            }
+        }
+        return new EmployeesByIdsResponse(employees, notFound, failed);
+    }
+
+    private static boolean isSuccess(ResponseEntity<Map<String, Object>> response) {
+        return response.getStatusCode().is2xxSuccessful() && response.getBody() != null && "success".equals(response.getBody().get("status"));
+    }
+
+    private static long countSucceeded(List<BatchItemResult> results) {
+        return results.stream().filter(result -> "success".equals(result.getStatus())).count();
+    }
+
+    private static String failureReason(Throwable error) {
+        Throwable cause = unwrap(error);
+        return errorResponse(cause).getStatusCode() + ": " + cause.getMessage();
+    }
+
+    private static Employee toEmployee(String id, ResponseEntity<EmployeeResponseSingle> response) {
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            throw new UpstreamException(response.getStatusCode(), "Failed to fetch employee " + id + ".");
+        }
+        return response.getBody().getData();
+    }
+
+    private static Employee toEmployee(Map<?, ?> created) {
+        return new Employee(
+                Objects.toString(created.get("id"), null),
+                Objects.toString(created.get("name"), null),
+                Objects.toString(created.get("salary"), null),
+                Objects.toString(created.get("age"), null),
+                ""
+        );
+    }
+
+    private static ResponseEntity<List<Employee>> pageResponse(RosterSnapshot snapshot, PageRequest pageRequest, int total, List<Employee> page) {
+        if (!pageRequest.isPaged()) {
+            return snapshotResponse(snapshot).body(page);
+        }
+        return snapshotResponse(snapshot).header(TOTAL_COUNT_HEADER, String.valueOf(total)).body(page);
+    }
+
+    private static ResponseEntity.BodyBuilder snapshotResponse(RosterSnapshot snapshot) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(snapshot.getContentHash());
+        return snapshot.isRestored() ? response.header(HttpHeaders.WARNING, STALE_WARNING) : response;
+    }
+
+    private static <T> ResponseEntity<T> errorResponse(Throwable error) {
+        return errorResponse(error, null);
+    }
+
+    private static <T> ResponseEntity<T> errorResponse(Throwable error, T body) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof BulkheadFullException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ((BulkheadFullException) cause).getRetryAfter().toSeconds())))
+                    .body(body);
+        }
+        if (cause instanceof CircuitOpenException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ((CircuitOpenException) cause).getRetryAfter().toSeconds())))
+                    .body(body);
+        }
+        if (cause instanceof RateLimitedException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(((RateLimitedException) cause).getRetryAfter().toSeconds()))
+                    .body(body);
+        }
+        if (cause instanceof UpstreamException) {
+            return ResponseEntity.status(((UpstreamException) cause).getStatus()).body(body);
+        }
+        if (cause instanceof TimeoutException) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(body);
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(body);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
     }
 }
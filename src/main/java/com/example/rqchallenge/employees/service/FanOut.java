@@ -0,0 +1,106 @@
+package com.example.rqchallenge.employees.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * Runs one asynchronous call per item with at most {@code maxConcurrent} calls in flight and call starts
+ * spaced at least {@code 1 / ratePerSecond} apart. Results are returned in item order once every call has
+ * completed; {@code call} is expected to turn its own failures into a result.
+ * <p>
+ * Calls that complete synchronously, such as cache hits or calls shed by a breaker, ask for the next start from
+ * within the call that started them. Those requests are only counted, and the call already starting items runs them
+ * in its loop, so the stack stays flat however many items there are.
+ */
+final class FanOut<T, R> {
+
+    private final List<T> items;
+    private final BiFunction<Integer, T, CompletableFuture<R>> call;
+    private final long intervalNanos;
+    private final Object[] results;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger remaining;
+    private final AtomicInteger requestedStarts = new AtomicInteger();
+    private final CompletableFuture<List<R>> completion = new CompletableFuture<>();
+    private long nextStartNanos = System.nanoTime();
+
+    private FanOut(List<T> items, double ratePerSecond, BiFunction<Integer, T, CompletableFuture<R>> call) {
+        this.items = items;
+        this.call = call;
+        this.intervalNanos = ratePerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond) : 0;
+        this.results = new Object[items.size()];
+        this.remaining = new AtomicInteger(items.size());
+    }
+
+    static <T, R> CompletableFuture<List<R>> run(List<T> items, int maxConcurrent, double ratePerSecond, BiFunction<Integer, T, CompletableFuture<R>> call) {
+        FanOut<T, R> fanOut = new FanOut<>(items, ratePerSecond, call);
+        if (items.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        for (int i = 0; i < Math.min(Math.max(1, maxConcurrent), items.size()); i++) {
+            fanOut.startNext();
+        }
+        return fanOut.completion;
+    }
+
+    private void startNext() {
+        if (requestedStarts.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            startOne();
+        } while (requestedStarts.decrementAndGet() != 0);
+    }
+
+    private void startOne() {
+        int index = next.getAndIncrement();
+        if (index >= items.size()) {
+            return;
+        }
+        Duration delay = reserveStart();
+        if (delay.isZero()) {
+            start(index);
+        } else {
+            CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS).execute(() -> start(index));
+        }
+    }
+
+    private synchronized Duration reserveStart() {
+        long now = System.nanoTime();
+        long startAt = Math.max(now, nextStartNanos);
+        nextStartNanos = startAt + intervalNanos;
+        return Duration.ofNanos(startAt - now);
+    }
+
+    private void start(int index) {
+        CompletableFuture<R> started;
+        try {
+            started = call.apply(index, items.get(index));
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        started.whenComplete((result, error) -> {
+            try {
+                results[index] = result;
+                if (remaining.decrementAndGet() == 0) {
+                    complete();
+                } else {
+                    startNext();
+                }
+            } catch (Throwable e) {
+                completion.completeExceptionally(e);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void complete() {
+        completion.complete(new ArrayList<>((List<R>) Arrays.asList(results)));
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.employees.model.BatchItemResult;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeAnalytics;
+import com.example.rqchallenge.employees.model.EmployeeQuery;
+import com.example.rqchallenge.employees.model.EmployeesByIdsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * The {@link EmployeeService} the controller talks to. It times every operation of the underlying service in
+ * {@code employees.service.operations}, tagged with the operation, the response status and its outcome, and
+ * publishes a percentile histogram so latency objectives can be computed per operation.
+ */
+@Primary
+@Service
+public class MeteredEmployeeService implements EmployeeService {
+
+    private final EmployeeService delegate;
+    private final MeterRegistry meterRegistry;
+
+    public MeteredEmployeeService(@Qualifier("core") EmployeeService delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<Employee>>> getAllEmployees() {
+        return timed("getAllEmployees", delegate::getAllEmployees);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployees(EmployeeQuery query) {
+        return timed("getEmployees", () -> delegate.getEmployees(query));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(String searchString) {
+        return timed("getEmployeesByNameSearch", () -> delegate.getEmployeesByNameSearch(searchString));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(String searchString, EmployeeQuery query) {
+        return timed("getEmployeesByNameSearch", () -> delegate.getEmployeesByNameSearch(searchString, query));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Employee>> getEmployeeById(String id) {
+        return timed("getEmployeeById", () -> delegate.getEmployeeById(id));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<EmployeesByIdsResponse>> getEmployeesByIds(List<String> ids) {
+        return timed("getEmployeesByIds", () -> delegate.getEmployeesByIds(ids));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return timed("getHighestSalaryOfEmployees", delegate::getHighestSalaryOfEmployees);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<EmployeeAnalytics>> getEmployeeAnalytics() {
+        return timed("getEmployeeAnalytics", delegate::getEmployeeAnalytics);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return timed("getTopTenHighestEarningEmployeeNames", delegate::getTopTenHighestEarningEmployeeNames);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<String>> createEmployee(Map<String, Object> employeeInput) {
+        return timed("createEmployee", () -> delegate.createEmployee(employeeInput));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<String>> deleteEmployeeById(String id) {
+        return timed("deleteEmployeeById", () -> delegate.deleteEmployeeById(id));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<BatchItemResult>>> createEmployees(List<Map<String, Object>> employeeInputs) {
+        return timed("createEmployees", () -> delegate.createEmployees(employeeInputs));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<BatchItemResult>>> deleteEmployeesByIds(List<String> ids) {
+        return timed("deleteEmployeesByIds", () -> delegate.deleteEmployeesByIds(ids));
+    }
+
+    private <T> CompletableFuture<ResponseEntity<T>> timed(String operation, Supplier<CompletableFuture<ResponseEntity<T>>> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return call.get().whenComplete((response, error) -> sample.stop(timer(operation, response)));
+    }
+
+    private Timer timer(String operation, ResponseEntity<?> response) {
+        String status = response == null ? "UNKNOWN" : String.valueOf(response.getStatusCodeValue());
+        Outcome outcome = response == null ? Outcome.UNKNOWN : Outcome.forStatus(response.getStatusCodeValue());
+        return Timer.builder("employees.service.operations")
+                .description("Employee service operations, by response status")
+                .tags("operation", operation, "status", status, "outcome", outcome.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.config.EmployeeProperties;
+import com.example.rqchallenge.employees.model.EmployeeQuery;
+import com.example.rqchallenge.employees.roster.SortKey;
+
+import java.util.Locale;
+
+/**
+ * Validated paging and ordering of an {@link EmployeeQuery}. An unpaged request covers every result.
+ */
+final class PageRequest {
+
+    private final SortKey sortKey;
+    private final boolean descending;
+    private final boolean paged;
+    private final long offset;
+    private final int size;
+
+    private PageRequest(SortKey sortKey, boolean descending, boolean paged, long offset, int size) {
+        this.sortKey = sortKey;
+        this.descending = descending;
+        this.paged = paged;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the page, size or sort is not valid
+     */
+    static PageRequest of(EmployeeQuery query, EmployeeProperties.Paging paging) {
+        SortKey sortKey = null;
+        boolean descending = false;
+        if (query.getSort() != null && !query.getSort().isBlank()) {
+            String[] parts = query.getSort().split(",", -1);
+            sortKey = parseSortKey(parts[0]);
+            if (parts.length > 2) {
+                throw new IllegalArgumentException("sort must be <property>[,asc|desc]: '" + query.getSort() + "'");
+            }
+            descending = parts.length == 2 && parseDescending(parts[1]);
+        }
+
+        if (query.getPage() == null && query.getSize() == null) {
+            return new PageRequest(sortKey, descending, false, 0, Integer.MAX_VALUE);
+        }
+        int page = query.getPage() == null ? 0 : query.getPage();
+        int size = query.getSize() == null ? paging.getDefaultSize() : query.getSize();
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative: " + page);
+        }
+        if (size < 1 || size > paging.getMaxSize()) {
+            throw new IllegalArgumentException("size must be between 1 and " + paging.getMaxSize() + ": " + size);
+        }
+        return new PageRequest(sortKey, descending, true, (long) page * size, size);
+    }
+
+    /**
+     * @return the key to order by, or {@code null} to keep roster order
+     */
+    SortKey getSortKey() {
+        return sortKey;
+    }
+
+    boolean isDescending() {
+        return descending;
+    }
+
+    boolean isPaged() {
+        return paged;
+    }
+
+    int from(int total) {
+        return (int) Math.min(offset, total);
+    }
+
+    int to(int total) {
+        return (int) Math.min(offset + size, total);
+    }
+
+    private static SortKey parseSortKey(String property) {
+        try {
+            return SortKey.valueOf(property.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cannot sort by '" + property + "', expected salary, age or name");
+        }
+    }
+
+    private static boolean parseDescending(String direction) {
+        switch (direction.trim().toLowerCase(Locale.ROOT)) {
+            case "asc":
+                return false;
+            case "desc":
+                return true;
+            default:
+                throw new IllegalArgumentException("Sort direction must be asc or desc: '" + direction + "'");
+        }
+    }
+}
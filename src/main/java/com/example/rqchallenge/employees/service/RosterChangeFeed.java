@@ -0,0 +1,227 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.config.EmployeeProperties;
+import com.example.rqchallenge.employees.model.RosterChange;
+import com.example.rqchallenge.employees.roster.RosterCache;
+import com.example.rqchallenge.employees.roster.RosterChangeListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the roster changes reported by the {@link RosterCache} as server-sent events. Every change gets the next
+ * sequence number of this feed, and the most recent ones are kept in a ring buffer, so a subscriber that reconnects
+ * with the id of the last event it saw receives exactly the changes it missed. Event ids are
+ * {@code <feed id>-<sequence>}; the feed id is new for every start of the service.
+ * <p>
+ * A subscriber that cannot be resumed, because it is new, its event id comes from another feed or its position has
+ * already left the buffer, first receives a {@code sync} event: it should reload the roster and apply the changes
+ * that follow, which are idempotent by employee id. Events are written by a single delivery thread, which also sends
+ * keep-alive comments and, while anyone is subscribed, revalidates the roster so its changes keep flowing even when
+ * nobody polls the roster itself.
+ */
+@Component
+public class RosterChangeFeed implements RosterChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RosterChangeFeed.class);
+    static final String SYNC_EVENT = "sync";
+
+    private final RosterCache rosterCache;
+    private final String feedId = Long.toString(System.currentTimeMillis(), 36);
+    private final RosterChange[] buffer;
+    private long lastSequence;
+    private final long subscriptionTimeoutMillis;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService delivery = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "roster-changes");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<RosterChange.Type, Counter> published = new EnumMap<>(RosterChange.Type.class);
+
+    public RosterChangeFeed(RosterCache rosterCache, EmployeeProperties properties, MeterRegistry meterRegistry) {
+        this.rosterCache = rosterCache;
+        this.buffer = new RosterChange[Math.max(1, properties.getChanges().getBufferSize())];
+        this.subscriptionTimeoutMillis = properties.getChanges().getSubscriptionTimeout().toMillis();
+        for (RosterChange.Type type : RosterChange.Type.values()) {
+            published.put(type, Counter.builder("employees.changes.published")
+                    .description("Roster changes published to the change feed")
+                    .tag("type", type.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        Gauge.builder("employees.changes.subscribers", subscribers, List::size)
+                .description("Clients currently subscribed to the roster change feed")
+                .register(meterRegistry);
+        long heartbeatMillis = properties.getChanges().getHeartbeatInterval().toMillis();
+        delivery.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        rosterCache.addChangeListener(this);
+    }
+
+    /**
+     * @param lastEventId the id of the last event the client received, or {@code null} to start from now
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(subscriptionTimeoutMillis);
+        subscribe(emitter, lastEventId);
+        return emitter;
+    }
+
+    @Override
+    public void onChanges(List<RosterChange> changes) {
+        synchronized (buffer) {
+            for (RosterChange change : changes) {
+                lastSequence++;
+                buffer[(int) (lastSequence % buffer.length)] = change;
+            }
+        }
+        for (RosterChange change : changes) {
+            published.get(change.getType()).increment();
+        }
+        delivery.execute(() -> subscribers.forEach(this::deliver));
+    }
+
+    @PreDestroy
+    public void close() {
+        delivery.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    void subscribe(SseEmitter emitter, String lastEventId) {
+        String syncReason = null;
+        long cursor;
+        synchronized (buffer) {
+            cursor = lastSequence;
+            if (lastEventId == null || lastEventId.isBlank()) {
+                syncReason = "subscribed";
+            } else {
+                long resumeFrom = parseSequence(lastEventId);
+                if (resumeFrom < 0 || resumeFrom > lastSequence) {
+                    syncReason = "unknown-event-id";
+                } else if (resumeFrom < lastSequence - buffer.length) {
+                    syncReason = "expired-event-id";
+                } else {
+                    cursor = resumeFrom;
+                }
+            }
+        }
+        Subscriber subscriber = new Subscriber(emitter, cursor);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        String reason = syncReason;
+        logger.info("Roster change subscriber joined at {}{}.", eventId(cursor), reason == null ? "" : " (" + reason + ")");
+        delivery.execute(() -> {
+            if (reason != null && !sync(subscriber, reason)) {
+                return;
+            }
+            subscribers.add(subscriber);
+            deliver(subscriber);
+        });
+    }
+
+    private void deliver(Subscriber subscriber) {
+        List<RosterChange> pending = new ArrayList<>();
+        long first = subscriber.cursor + 1;
+        boolean overflowed = false;
+        synchronized (buffer) {
+            if (subscriber.cursor < lastSequence - buffer.length) {
+                overflowed = true;
+                subscriber.cursor = lastSequence;
+            } else {
+                for (long sequence = first; sequence <= lastSequence; sequence++) {
+                    pending.add(buffer[(int) (sequence % buffer.length)]);
+                }
+            }
+        }
+        if (overflowed) {
+            logger.warn("Roster change subscriber fell more than {} changes behind, asking it to resync.", buffer.length);
+            sync(subscriber, "overflowed");
+            return;
+        }
+        for (int i = 0; i < pending.size(); i++) {
+            RosterChange change = pending.get(i);
+            long sequence = first + i;
+            boolean sent = send(subscriber, SseEmitter.event()
+                    .id(eventId(sequence))
+                    .name(change.getType().name().toLowerCase(Locale.ROOT))
+                    .data(change, MediaType.APPLICATION_JSON));
+            if (!sent) {
+                return;
+            }
+            subscriber.cursor = sequence;
+        }
+    }
+
+    private boolean sync(Subscriber subscriber, String reason) {
+        return send(subscriber, SseEmitter.event()
+                .id(eventId(subscriber.cursor))
+                .name(SYNC_EVENT)
+                .data(Map.of("reason", reason), MediaType.APPLICATION_JSON));
+    }
+
+    private void heartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        rosterCache.getSnapshot();
+        for (Subscriber subscriber : subscribers) {
+            send(subscriber, SseEmitter.event().comment("keep-alive"));
+        }
+    }
+
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping roster change subscriber at {}.", eventId(subscriber.cursor), e);
+            subscribers.remove(subscriber);
+            return false;
+        }
+    }
+
+    private String eventId(long sequence) {
+        return feedId + "-" + sequence;
+    }
+
+    private long parseSequence(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(feedId)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private long cursor;
+
+        Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.rqchallenge.employees.upstream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of concurrent upstream calls of one kind. Calls beyond {@code maxConcurrent} wait in a
+ * bounded FIFO queue and are started as earlier calls complete; once the queue is full further calls
+ * fail fast with {@link BulkheadFullException}. The limit applies to calls in flight, not to threads, so it
+ * works the same for blocking and non-blocking transports.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Duration retryAfter;
+    private final Deque<Runnable> queue = new ArrayDeque<>();
+    private final Counter rejected;
+    private int active;
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueued, Duration retryAfter, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.retryAfter = retryAfter;
+        this.rejected = Counter.builder("employees.bulkhead.rejected")
+                .description("Calls shed because the bulkhead and its queue were full")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("employees.bulkhead.active", this, Bulkhead::getActiveCount)
+                .description("Calls currently running in the bulkhead")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("employees.bulkhead.queued", this, Bulkhead::getQueuedCount)
+                .description("Calls waiting for a bulkhead slot")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable task = () -> start(call, result);
+        synchronized (this) {
+            if (active >= maxConcurrent) {
+                if (queue.size() >= maxQueued) {
+                    rejected.increment();
+                    return CompletableFuture.failedFuture(new BulkheadFullException(name, retryAfter));
+                }
+                queue.addLast(task);
+                return result;
+            }
+            active++;
+        }
+        task.run();
+        return result;
+    }
+
+    public synchronized int getActiveCount() {
+        return active;
+    }
+
+    public synchronized int getQueuedCount() {
+        return queue.size();
+    }
+
+    public long getRejectedCount() {
+        return (long) rejected.count();
+    }
+
+    private <T> void start(Supplier<CompletableFuture<T>> call, CompletableFuture<T> result) {
+        CompletableFuture<T> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        started.whenComplete((value, error) -> {
+            release();
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    /**
+     * Hands the finished call's slot straight to the oldest waiting call, or frees it if nobody is waiting.
+     */
+    private void release() {
+        Runnable next;
+        synchronized (this) {
+            next = queue.pollFirst();
+            if (next == null) {
+                active--;
+                return;
+            }
+        }
+        next.run();
+    }
+}
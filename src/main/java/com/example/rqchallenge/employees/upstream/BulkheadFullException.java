@@ -0,0 +1,20 @@
+package com.example.rqchallenge.employees.upstream;
+
+import java.time.Duration;
+
+/**
+ * Raised when a bulkhead has no free slot and its wait queue is full, so the call is shed immediately.
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public BulkheadFullException(String bulkhead, Duration retryAfter) {
+        super("Bulkhead '" + bulkhead + "' is saturated.");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
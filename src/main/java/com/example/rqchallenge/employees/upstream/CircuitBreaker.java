@@ -0,0 +1,142 @@
+package com.example.rqchallenge.employees.upstream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker for one upstream route. After {@code failureThreshold} consecutive failures (as classified
+ * by {@link UpstreamFailures#isFailure}) the circuit opens and calls fail fast with
+ * {@link CircuitOpenException}. Once {@code openDuration} has passed a single probe call is let through:
+ * if it succeeds the circuit closes, otherwise it opens again for another {@code openDuration}.
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final String route;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Counter rejected;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean probing;
+
+    public CircuitBreaker(String route, int failureThreshold, Duration openDuration, MeterRegistry meterRegistry) {
+        this.route = route;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.rejected = Counter.builder("employees.breaker.rejected")
+                .description("Calls failed fast because the circuit was open")
+                .tag("route", route)
+                .register(meterRegistry);
+        Gauge.builder("employees.breaker.state", this, breaker -> breaker.getState().ordinal())
+                .description("Circuit state: 0 closed, 1 half-open, 2 open")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call) {
+        if (!tryAcquire()) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new CircuitOpenException(route, getRemainingOpenTime()));
+        }
+        CompletableFuture<T> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        return started.whenComplete((value, error) -> {
+            if (error == null) {
+                onSuccess();
+            } else if (UpstreamFailures.isFailure(error)) {
+                onFailure();
+            } else if (UpstreamFailures.isUnavailable(error)) {
+                onRejected();
+            } else {
+                onSuccess();
+            }
+        });
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public long getRejectedCount() {
+        return (long) rejected.count();
+    }
+
+    private synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAtNanos < openDuration.toNanos()) {
+                    return false;
+                }
+                logger.info("Circuit for upstream route '{}' is half-open, probing.", route);
+                state = State.HALF_OPEN;
+                probing = true;
+                return true;
+            default:
+                if (probing) {
+                    return false;
+                }
+                probing = true;
+                return true;
+        }
+    }
+
+    private synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN) {
+            logger.info("Circuit for upstream route '{}' closed.", route);
+            state = State.CLOSED;
+            probing = false;
+        }
+    }
+
+    private synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            logger.warn("Circuit for upstream route '{}' opened after {} consecutive failures.", route, consecutiveFailures);
+            state = State.OPEN;
+            openedAtNanos = System.nanoTime();
+            probing = false;
+        }
+    }
+
+    private synchronized void onRejected() {
+        if (state == State.HALF_OPEN) {
+            probing = false;
+        }
+    }
+
+    private synchronized Duration getRemainingOpenTime() {
+        long remaining = openDuration.toNanos() - (System.nanoTime() - openedAtNanos);
+        return state == State.OPEN && remaining > 0 ? Duration.ofNanos(remaining) : Duration.ZERO;
+    }
+}
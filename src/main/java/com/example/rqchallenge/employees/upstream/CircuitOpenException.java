@@ -0,0 +1,20 @@
+package com.example.rqchallenge.employees.upstream;
+
+import java.time.Duration;
+
+/**
+ * Raised without calling the upstream while the circuit breaker for a route is open.
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public CircuitOpenException(String route, Duration retryAfter) {
+        super("Circuit for upstream route '" + route + "' is open.");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
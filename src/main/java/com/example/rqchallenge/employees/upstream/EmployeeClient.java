@@ -0,0 +1,30 @@
+package com.example.rqchallenge.employees.upstream;
+
+import com.example.rqchallenge.employees.model.EmployeeResponse;
+import com.example.rqchallenge.employees.model.EmployeeResponseSingle;
+import com.example.rqchallenge.employees.model.SalaryLeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transport to the upstream employee API at {@code employees.upstream.base-url}. Error statuses (4xx/5xx) complete the returned future with an
+ * {@link UpstreamException}; any other response is handed back for the caller to inspect.
+ */
+public interface EmployeeClient {
+
+    CompletableFuture<ResponseEntity<EmployeeResponse>> getEmployees();
+
+    /**
+     * Reads {@code /employees} like {@link #getEmployees()}, but reduces it to its salary leaders while the
+     * body is streamed instead of materializing the roster.
+     */
+    CompletableFuture<SalaryLeaders> getSalaryLeaders(int limit);
+
+    CompletableFuture<ResponseEntity<EmployeeResponseSingle>> getEmployee(String id);
+
+    CompletableFuture<ResponseEntity<Map<String, Object>>> createEmployee(Map<String, Object> employeeInput);
+
+    CompletableFuture<ResponseEntity<Map<String, Object>>> deleteEmployee(String id);
+}
@@ -0,0 +1,123 @@
+package com.example.rqchallenge.employees.upstream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hedges idempotent upstream calls: if the first attempt has not answered once the configured latency
+ * percentile of recent attempts has elapsed, a second identical attempt is started and whichever succeeds
+ * first wins. Until enough attempts have been observed the initial delay is used instead.
+ * <p>
+ * Hedging only covers slowness. An attempt that fails before the hedge is due fails the call, and a hedged
+ * call fails only once both attempts have failed.
+ */
+public class Hedger {
+
+    static final int MIN_SAMPLES = 20;
+
+    private final double percentile;
+    private final Duration initialDelay;
+    private final Timer latency;
+    private final Counter calls;
+    private final Counter hedged;
+    private final Counter primaryWins;
+    private final Counter hedgeWins;
+
+    public Hedger(String route, double percentile, Duration initialDelay, MeterRegistry meterRegistry) {
+        this.percentile = percentile;
+        this.initialDelay = initialDelay;
+        this.latency = Timer.builder("employees.hedge.latency")
+                .description("Latency of successful attempts, used to derive the hedge delay")
+                .tag("route", route)
+                .publishPercentiles(percentile)
+                .register(meterRegistry);
+        this.calls = Counter.builder("employees.hedge.calls")
+                .description("Calls eligible for hedging")
+                .tag("route", route)
+                .register(meterRegistry);
+        this.hedged = Counter.builder("employees.hedge.hedged")
+                .description("Calls for which a second attempt was started")
+                .tag("route", route)
+                .register(meterRegistry);
+        this.primaryWins = Counter.builder("employees.hedge.wins")
+                .description("Calls answered by the given attempt")
+                .tag("route", route)
+                .tag("attempt", "primary")
+                .register(meterRegistry);
+        this.hedgeWins = Counter.builder("employees.hedge.wins")
+                .description("Calls answered by the given attempt")
+                .tag("route", route)
+                .tag("attempt", "hedge")
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> attempt) {
+        calls.increment();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        start(attempt, result, outstanding, primaryWins);
+
+        CompletableFuture.delayedExecutor(getHedgeDelay().toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+            if (result.isDone() || outstanding.getAndUpdate(n -> n == 0 ? 0 : n + 1) == 0) {
+                return;
+            }
+            hedged.increment();
+            start(attempt, result, outstanding, hedgeWins);
+        });
+        return result;
+    }
+
+    /**
+     * The delay after which a still-unanswered call is hedged.
+     */
+    public Duration getHedgeDelay() {
+        if (latency.count() < MIN_SAMPLES) {
+            return initialDelay;
+        }
+        for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+            if (value.percentile() == percentile && value.value() > 0) {
+                return Duration.ofNanos((long) value.value(TimeUnit.NANOSECONDS));
+            }
+        }
+        return initialDelay;
+    }
+
+    public long getHedgedCount() {
+        return (long) hedged.count();
+    }
+
+    public long getHedgeWinCount() {
+        return (long) hedgeWins.count();
+    }
+
+    private <T> void start(Supplier<CompletableFuture<T>> attempt, CompletableFuture<T> result, AtomicInteger outstanding, Counter wins) {
+        long startedAt = System.nanoTime();
+        CompletableFuture<T> started;
+        try {
+            started = attempt.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        started.whenComplete((value, error) -> {
+            if (error == null) {
+                latency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                synchronized (result) {
+                    if (!result.isDone()) {
+                        wins.increment();
+                        result.complete(value);
+                    }
+                }
+            } else if (outstanding.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        });
+    }
+}
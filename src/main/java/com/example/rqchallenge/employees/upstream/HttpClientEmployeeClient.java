@@ -0,0 +1,158 @@
+package com.example.rqchallenge.employees.upstream;
+
+import com.example.rqchallenge.config.EmployeeProperties;
+import com.example.rqchallenge.employees.model.EmployeeResponse;
+import com.example.rqchallenge.employees.model.EmployeeResponseSingle;
+import com.example.rqchallenge.employees.model.SalaryLeaders;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Non-blocking transport on {@link HttpClient#sendAsync}: requests are multiplexed on the client's
+ * selector thread and the returned futures are completed from its I/O callbacks, so no thread is held
+ * while a response is outstanding. The one exception is the salary leaders call, which streams the roster
+ * through a blocking parser: that parse runs on a separate pool sized to the read bulkhead, published as the
+ * {@code executor.*} metrics named {@code employees.upstream.parser}, so it never occupies the client's threads.
+ */
+@Component
+@Qualifier("transport")
+@ConditionalOnProperty(name = "employees.upstream.client", havingValue = "async")
+public class HttpClientEmployeeClient implements EmployeeClient {
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final Duration readTimeout;
+    private final boolean compression;
+    private final JavaType employeesType;
+    private final JavaType employeeType;
+    private final JavaType statusType;
+    private final ExecutorService parserExecutor;
+
+    public HttpClientEmployeeClient(ObjectMapper objectMapper, EmployeeProperties properties, MeterRegistry meterRegistry) {
+        EmployeeProperties.Http http = properties.getHttp();
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(http.getConnectTimeout())
+                .build();
+        this.baseUrl = properties.getUpstream().getBaseUrl();
+        this.objectMapper = objectMapper;
+        this.readTimeout = http.getReadTimeout();
+        this.compression = http.isCompression();
+        this.employeesType = objectMapper.constructType(EmployeeResponse.class);
+        this.employeeType = objectMapper.constructType(EmployeeResponseSingle.class);
+        this.statusType = objectMapper.getTypeFactory().constructMapType(Map.class, String.class, Object.class);
+        this.parserExecutor = ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newFixedThreadPool(properties.getBulkheads().getRead().getMaxConcurrent()), "employees.upstream.parser");
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<EmployeeResponse>> getEmployees() {
+        return send(request("/employees").GET(), employeesType);
+    }
+
+    @Override
+    public CompletableFuture<SalaryLeaders> getSalaryLeaders(int limit) {
+        return httpClient.sendAsync(request("/employees").GET().build(), HttpResponse.BodyHandlers.ofInputStream())
+                .thenApplyAsync(response -> {
+                    try (InputStream body = response.body()) {
+                        checkStatus(response.statusCode());
+                        return SalaryLeadersParser.parse(decode(response, body), limit);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, parserExecutor);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<EmployeeResponseSingle>> getEmployee(String id) {
+        return send(request("/employee/" + id).GET(), employeeType);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> createEmployee(Map<String, Object> employeeInput) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(employeeInput);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return send(request("/create")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body)), statusType);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> deleteEmployee(String id) {
+        return send(request("/delete/" + id).DELETE(), statusType);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(readTimeout)
+                .header("Accept", "application/json");
+        if (compression) {
+            builder.header("Accept-Encoding", "gzip");
+        }
+        return builder;
+    }
+
+    private <T> CompletableFuture<ResponseEntity<T>> send(HttpRequest.Builder request, JavaType type) {
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> toEntity(response, type));
+    }
+
+    private <T> ResponseEntity<T> toEntity(HttpResponse<byte[]> response, JavaType type) {
+        HttpStatus status = checkStatus(response.statusCode());
+        byte[] body = response.body();
+        if (body == null || body.length == 0) {
+            return new ResponseEntity<>(status);
+        }
+        try (InputStream content = decode(response, new ByteArrayInputStream(body))) {
+            T value = objectMapper.readValue(content, type);
+            return new ResponseEntity<>(value, status);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static HttpStatus checkStatus(int statusCode) {
+        HttpStatus status = HttpStatus.resolve(statusCode);
+        if (status == null) {
+            throw new UpstreamException(HttpStatus.BAD_GATEWAY, "Unknown upstream status " + statusCode + ".");
+        }
+        if (status.isError()) {
+            throw new UpstreamException(status, "Upstream responded with " + status + ".");
+        }
+        return status;
+    }
+
+    private static InputStream decode(HttpResponse<?> response, InputStream content) throws IOException {
+        boolean gzipped = response.headers().firstValue("Content-Encoding")
+                .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+                .orElse(false);
+        return gzipped ? new GZIPInputStream(content) : content;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.rqchallenge.employees.upstream;
+
+import java.time.Duration;
+
+/**
+ * Raised without calling the upstream when the outbound rate limiter cannot grant the call a slot within its
+ * maximum wait.
+ */
+public class RateLimitedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public RateLimitedException(Duration retryAfter) {
+        super("Outbound upstream rate limit reached.");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
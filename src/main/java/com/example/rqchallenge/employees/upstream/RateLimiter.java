@@ -0,0 +1,207 @@
+package com.example.rqchallenge.employees.upstream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Paces every call this node sends upstream with one token bucket: the bucket holds up to {@code burst} tokens,
+ * refills at {@code rate} tokens per second, and each call takes a token right before it reaches the transport.
+ * Calls that find the bucket empty wait, without holding a thread, in a queue ordered by {@link Priority} and then
+ * by arrival, so writes and single-employee lookups overtake roster reads. A call whose expected wait exceeds
+ * {@code maxWait}, or that has waited that long because it kept being overtaken, fails with
+ * {@link RateLimitedException}. A 429 answer from the upstream empties the bucket, so the calls after it back off
+ * until tokens accrue again. A non-positive rate disables the limiter.
+ */
+public class RateLimiter {
+
+    public enum Priority {
+        WRITE, LOOKUP, ROSTER
+    }
+
+    private final double tokensPerNano;
+    private final double burst;
+    private final long maxWaitNanos;
+    private final PriorityQueue<Waiter> queue = new PriorityQueue<>(
+            Comparator.comparing((Waiter waiter) -> waiter.priority).thenComparingLong(waiter -> waiter.sequence));
+    private final Map<Priority, Timer> waits = new EnumMap<>(Priority.class);
+    private final Map<Priority, Counter> throttled = new EnumMap<>(Priority.class);
+    private final Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+    private double tokens;
+    private long refilledAtNanos = System.nanoTime();
+    private long arrivals;
+    private boolean drainScheduled;
+
+    public RateLimiter(double rate, int burst, Duration maxWait, MeterRegistry meterRegistry) {
+        this.tokensPerNano = rate / TimeUnit.SECONDS.toNanos(1);
+        this.burst = Math.max(1, burst);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.tokens = this.burst;
+        for (Priority priority : Priority.values()) {
+            String tag = priority.name().toLowerCase(Locale.ROOT);
+            waits.put(priority, Timer.builder("employees.ratelimit.wait")
+                    .description("Time upstream calls waited for an outbound rate limit token")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+            throttled.put(priority, Counter.builder("employees.ratelimit.throttled")
+                    .description("Upstream calls that had to wait for an outbound rate limit token")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+            rejected.put(priority, Counter.builder("employees.ratelimit.rejected")
+                    .description("Upstream calls shed because no rate limit token was due within the maximum wait")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+        }
+        Gauge.builder("employees.ratelimit.queued", this, RateLimiter::getQueuedCount)
+                .description("Upstream calls waiting for an outbound rate limit token")
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> execute(Priority priority, Supplier<CompletableFuture<T>> call) {
+        if (tokensPerNano <= 0) {
+            return start(call);
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long now = System.nanoTime();
+        Waiter waiter = new Waiter(priority, now, () -> propagate(start(call), result), result::completeExceptionally);
+        synchronized (this) {
+            refill(now);
+            if (queue.isEmpty() && tokens >= 1) {
+                tokens -= 1;
+            } else {
+                long expectedWait = expectedWaitNanos(priority);
+                if (expectedWait > maxWaitNanos) {
+                    rejected.get(priority).increment();
+                    return CompletableFuture.failedFuture(new RateLimitedException(retryAfter(expectedWait)));
+                }
+                waiter.sequence = arrivals++;
+                queue.add(waiter);
+                throttled.get(priority).increment();
+                scheduleDrain();
+                return result;
+            }
+        }
+        waits.get(priority).record(0, TimeUnit.NANOSECONDS);
+        waiter.start.run();
+        return result;
+    }
+
+    public synchronized int getQueuedCount() {
+        return queue.size();
+    }
+
+    public long getThrottledCount(Priority priority) {
+        return (long) throttled.get(priority).count();
+    }
+
+    private void drain() {
+        long now = System.nanoTime();
+        List<Waiter> ready = new ArrayList<>();
+        List<Waiter> expired = new ArrayList<>();
+        synchronized (this) {
+            drainScheduled = false;
+            refill(now);
+            queue.removeIf(waiter -> now - waiter.enqueuedAtNanos > maxWaitNanos && expired.add(waiter));
+            while (tokens >= 1 && !queue.isEmpty()) {
+                tokens -= 1;
+                ready.add(queue.poll());
+            }
+            scheduleDrain();
+        }
+        for (Waiter waiter : expired) {
+            rejected.get(waiter.priority).increment();
+            waiter.reject.accept(new RateLimitedException(retryAfter(maxWaitNanos)));
+        }
+        for (Waiter waiter : ready) {
+            waits.get(waiter.priority).record(now - waiter.enqueuedAtNanos, TimeUnit.NANOSECONDS);
+            waiter.start.run();
+        }
+    }
+
+    /**
+     * Schedules the next drain for when the bucket holds a whole token again. Called with the lock held.
+     */
+    private void scheduleDrain() {
+        if (drainScheduled || queue.isEmpty()) {
+            return;
+        }
+        drainScheduled = true;
+        long delay = (long) Math.ceil(Math.max(0, 1 - tokens) / tokensPerNano);
+        CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(this::drain);
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - refilledAtNanos) * tokensPerNano);
+        refilledAtNanos = now;
+    }
+
+    /**
+     * The time until a call of the given priority would get a token, if no call of a higher priority arrives first.
+     */
+    private long expectedWaitNanos(Priority priority) {
+        long ahead = queue.stream().filter(waiter -> waiter.priority.compareTo(priority) <= 0).count();
+        return (long) Math.ceil(Math.max(0, ahead + 1 - tokens) / tokensPerNano);
+    }
+
+    private <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        return started.whenComplete((value, error) -> {
+            Throwable cause = error == null ? null : UpstreamFailures.unwrap(error);
+            if (cause instanceof UpstreamException && ((UpstreamException) cause).getStatus().value() == 429) {
+                synchronized (this) {
+                    refill(System.nanoTime());
+                    tokens = Math.min(tokens, 0);
+                }
+            }
+        });
+    }
+
+    private static <T> void propagate(CompletableFuture<T> started, CompletableFuture<T> result) {
+        started.whenComplete((value, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private static Duration retryAfter(long waitNanos) {
+        return Duration.ofSeconds(Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    private static final class Waiter {
+
+        private final Priority priority;
+        private final long enqueuedAtNanos;
+        private final Runnable start;
+        private final Consumer<Throwable> reject;
+        private long sequence;
+
+        Waiter(Priority priority, long enqueuedAtNanos, Runnable start, Consumer<Throwable> reject) {
+            this.priority = priority;
+            this.enqueuedAtNanos = enqueuedAtNanos;
+            this.start = start;
+            this.reject = reject;
+        }
+    }
+}
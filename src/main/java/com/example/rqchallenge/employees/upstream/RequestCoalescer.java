@@ -0,0 +1,70 @@
+package com.example.rqchallenge.employees.upstream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight guard for upstream calls: concurrent callers asking for the same key share the one
+ * in-flight future instead of each issuing their own request. The key is released as soon as the
+ * call completes, so later callers always trigger a fresh request.
+ */
+public class RequestCoalescer<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter dispatched;
+    private final Counter coalesced;
+
+    public RequestCoalescer(String route, MeterRegistry meterRegistry) {
+        this.dispatched = Counter.builder("employees.upstream.dispatched")
+                .description("Upstream calls actually issued")
+                .tag("route", route)
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("employees.upstream.coalesced")
+                .description("Upstream calls collapsed onto an identical in-flight call")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+
+        dispatched.increment();
+        CompletableFuture<V> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        started.whenComplete((value, error) -> {
+            inFlight.remove(key, pending);
+            if (error != null) {
+                pending.completeExceptionally(error);
+            } else {
+                pending.complete(value);
+            }
+        });
+        return pending;
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    public long getDispatchedCount() {
+        return (long) dispatched.count();
+    }
+
+    public long getCoalescedCount() {
+        return (long) coalesced.count();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.rqchallenge.employees.upstream;
+
+import com.example.rqchallenge.config.EmployeeProperties;
+import com.example.rqchallenge.employees.model.EmployeeResponse;
+import com.example.rqchallenge.employees.model.EmployeeResponseSingle;
+import com.example.rqchallenge.employees.model.SalaryLeaders;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The {@link EmployeeClient} the rest of the application talks to. It applies the admission policies for
+ * upstream calls and delegates the actual I/O to the configured transport. Roster reads, single-employee
+ * lookups and writes each run in their own {@link Bulkhead}, so a burst of one kind cannot starve the others.
+ * <p>
+ * Every upstream route has its own {@link CircuitBreaker}, checked before a bulkhead slot is taken. The
+ * idempotent GET routes are retried with jittered backoff, and lookups are additionally hedged by a
+ * {@link Hedger}; each retry and hedge attempt passes the breaker and bulkhead again. Every attempt that
+ * reaches the transport is timed per route by an {@link UpstreamTimer}.
+ * <p>
+ * Right before the transport, every attempt of every route takes a token from one shared {@link RateLimiter}, so
+ * the node stays under the upstream's rate limit. Writes go first, then lookups, then roster reads.
+ */
+@Primary
+@Component
+public class ResilientEmployeeClient implements EmployeeClient {
+
+    private final EmployeeClient transport;
+    private final Bulkhead readBulkhead;
+    private final Bulkhead lookupBulkhead;
+    private final Bulkhead writeBulkhead;
+    private final RateLimiter rateLimiter;
+    private final CircuitBreaker employeesBreaker;
+    private final CircuitBreaker employeeBreaker;
+    private final CircuitBreaker createBreaker;
+    private final CircuitBreaker deleteBreaker;
+    private final Retry employeesRetry;
+    private final Retry employeeRetry;
+    private final Hedger lookupHedger;
+    private final UpstreamTimer employeesTimer;
+    private final UpstreamTimer employeeTimer;
+    private final UpstreamTimer createTimer;
+    private final UpstreamTimer deleteTimer;
+
+    public ResilientEmployeeClient(@Qualifier("transport") EmployeeClient transport, EmployeeProperties properties, MeterRegistry meterRegistry) {
+        EmployeeProperties.Bulkheads bulkheads = properties.getBulkheads();
+        this.transport = transport;
+        this.readBulkhead = bulkhead("read", bulkheads.getRead(), bulkheads, meterRegistry);
+        this.lookupBulkhead = bulkhead("lookup", bulkheads.getLookup(), bulkheads, meterRegistry);
+        this.writeBulkhead = bulkhead("write", bulkheads.getWrite(), bulkheads, meterRegistry);
+        EmployeeProperties.RateLimit rateLimit = properties.getRateLimit();
+        this.rateLimiter = new RateLimiter(rateLimit.getRate(), rateLimit.getBurst(), rateLimit.getMaxWait(), meterRegistry);
+        this.employeesBreaker = breaker("employees", properties.getBreaker(), meterRegistry);
+        this.employeeBreaker = breaker("employee", properties.getBreaker(), meterRegistry);
+        this.createBreaker = breaker("create", properties.getBreaker(), meterRegistry);
+        this.deleteBreaker = breaker("delete", properties.getBreaker(), meterRegistry);
+        this.employeesRetry = retry("employees", properties.getRetry(), meterRegistry);
+        this.employeeRetry = retry("employee", properties.getRetry(), meterRegistry);
+        this.lookupHedger = new Hedger("employee", properties.getLookup().getHedgePercentile(), properties.getLookup().getHedgeInitialDelay(), meterRegistry);
+        this.employeesTimer = new UpstreamTimer("employees", meterRegistry);
+        this.employeeTimer = new UpstreamTimer("employee", meterRegistry);
+        this.createTimer = new UpstreamTimer("create", meterRegistry);
+        this.deleteTimer = new UpstreamTimer("delete", meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<EmployeeResponse>> getEmployees() {
+        return employeesRetry.execute(() -> employeesBreaker.execute(() -> readBulkhead.execute(() -> rateLimiter.execute(RateLimiter.Priority.ROSTER, () -> employeesTimer.execute(transport::getEmployees)))));
+    }
+
+    @Override
+    public CompletableFuture<SalaryLeaders> getSalaryLeaders(int limit) {
+        return employeesRetry.execute(() -> employeesBreaker.execute(() -> readBulkhead.execute(() -> rateLimiter.execute(RateLimiter.Priority.ROSTER, () -> employeesTimer.execute(() -> transport.getSalaryLeaders(limit))))));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<EmployeeResponseSingle>> getEmployee(String id) {
+        return lookupHedger.execute(() -> employeeRetry.execute(() -> employeeBreaker.execute(() -> lookupBulkhead.execute(() -> rateLimiter.execute(RateLimiter.Priority.LOOKUP, () -> employeeTimer.execute(() -> transport.getEmployee(id)))))));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> createEmployee(Map<String, Object> employeeInput) {
+        return createBreaker.execute(() -> writeBulkhead.execute(() -> rateLimiter.execute(RateLimiter.Priority.WRITE, () -> createTimer.execute(() -> transport.createEmployee(employeeInput)))));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> deleteEmployee(String id) {
+        return deleteBreaker.execute(() -> writeBulkhead.execute(() -> rateLimiter.execute(RateLimiter.Priority.WRITE, () -> deleteTimer.execute(() -> transport.deleteEmployee(id)))));
+    }
+
+    public List<CircuitBreaker> getCircuitBreakers() {
+        return List.of(employeesBreaker, employeeBreaker, createBreaker, deleteBreaker);
+    }
+
+    private static Bulkhead bulkhead(String name, EmployeeProperties.Bulkheads.Limits limits, EmployeeProperties.Bulkheads bulkheads, MeterRegistry meterRegistry) {
+        return new Bulkhead(name, limits.getMaxConcurrent(), limits.getMaxQueued(), bulkheads.getRetryAfter(), meterRegistry);
+    }
+
+    private static CircuitBreaker breaker(String route, EmployeeProperties.Breaker breaker, MeterRegistry meterRegistry) {
+        return new CircuitBreaker(route, breaker.getFailureThreshold(), breaker.getOpenDuration(), meterRegistry);
+    }
+
+    private static Retry retry(String route, EmployeeProperties.Retry retry, MeterRegistry meterRegistry) {
+        return new Retry(route, retry.getMaxAttempts(), retry.getInitialBackoff(), retry.getMaxBackoff(), meterRegistry);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.rqchallenge.employees.upstream;
+
+import com.example.rqchallenge.config.EmployeeProperties;
+import com.example.rqchallenge.employees.model.EmployeeResponse;
+import com.example.rqchallenge.employees.model.EmployeeResponseSingle;
+import com.example.rqchallenge.employees.model.SalaryLeaders;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Blocking transport: each call parks a pool thread on a {@link RestTemplate} request. The pool is sized to
+ * the combined bulkhead limits, so admitted calls never wait behind each other for a thread. Its active
+ * threads and queue depth are published as the {@code executor.*} metrics named {@code employees.upstream}.
+ */
+@Component
+@Qualifier("transport")
+@ConditionalOnProperty(name = "employees.upstream.client", havingValue = "blocking", matchIfMissing = true)
+public class RestTemplateEmployeeClient implements EmployeeClient {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> STATUS_RESPONSE = new ParameterizedTypeReference<>() {};
+
+    private final RestTemplate restTemplate;
+    private final String baseUrl;
+    private final ExecutorService executorService;
+
+    public RestTemplateEmployeeClient(RestTemplate restTemplate, EmployeeProperties properties, MeterRegistry meterRegistry) {
+        EmployeeProperties.Bulkheads bulkheads = properties.getBulkheads();
+        this.restTemplate = restTemplate;
+        this.baseUrl = properties.getUpstream().getBaseUrl();
+        this.executorService = ExecutorServiceMetrics.monitor(meterRegistry, Executors.newFixedThreadPool(bulkheads.getRead().getMaxConcurrent()
+                + bulkheads.getLookup().getMaxConcurrent()
+                + bulkheads.getWrite().getMaxConcurrent()), "employees.upstream");
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<EmployeeResponse>> getEmployees() {
+        return call(() -> restTemplate.getForEntity(baseUrl + "/employees", EmployeeResponse.class));
+    }
+
+    @Override
+    public CompletableFuture<SalaryLeaders> getSalaryLeaders(int limit) {
+        return call(() -> restTemplate.execute(baseUrl + "/employees", HttpMethod.GET,
+                restTemplate.acceptHeaderRequestCallback(EmployeeResponse.class),
+                response -> SalaryLeadersParser.parse(response.getBody(), limit)));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<EmployeeResponseSingle>> getEmployee(String id) {
+        return call(() -> restTemplate.getForEntity(baseUrl + "/employee/" + id, EmployeeResponseSingle.class));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> createEmployee(Map<String, Object> employeeInput) {
+        return call(() -> restTemplate.exchange(baseUrl + "/create", HttpMethod.POST, new HttpEntity<>(employeeInput), STATUS_RESPONSE));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> deleteEmployee(String id) {
+        return call(() -> restTemplate.exchange(baseUrl + "/delete/" + id, HttpMethod.DELETE, null, STATUS_RESPONSE));
+    }
+
+    private <T> CompletableFuture<T> call(Supplier<T> request) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return request.get();
+            } catch (HttpStatusCodeException e) {
+                throw new UpstreamException(e.getStatusCode(), e.getMessage());
+            }
+        }, executorService);
+    }
+}
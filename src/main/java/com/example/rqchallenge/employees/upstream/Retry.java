@@ -0,0 +1,69 @@
+package com.example.rqchallenge.employees.upstream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Retries idempotent upstream calls that failed (as classified by {@link UpstreamFailures#isFailure}) with
+ * exponential backoff and full jitter: before retry {@code n} the call sleeps a random time up to
+ * {@code min(maxBackoff, initialBackoff * 2^(n-1))}, without holding a thread. Calls rejected locally by a
+ * bulkhead or an open circuit are not retried.
+ */
+public class Retry {
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Counter retries;
+
+    public Retry(String route, int maxAttempts, Duration initialBackoff, Duration maxBackoff, MeterRegistry meterRegistry) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retries = Counter.builder("employees.retry.retries")
+                .description("Upstream calls retried after a failure")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(call, 1, result);
+        return result;
+    }
+
+    public long getRetryCount() {
+        return (long) retries.count();
+    }
+
+    Duration backoff(int retry) {
+        long cap = Math.min(maxBackoff.toNanos(), initialBackoff.toNanos() << Math.min(retry - 1, 30));
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(cap + 1));
+    }
+
+    private <T> void attempt(Supplier<CompletableFuture<T>> call, int attempt, CompletableFuture<T> result) {
+        CompletableFuture<T> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        started.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else if (attempt < maxAttempts && UpstreamFailures.isFailure(error)) {
+                retries.increment();
+                CompletableFuture.delayedExecutor(backoff(attempt).toNanos(), TimeUnit.NANOSECONDS)
+                        .execute(() -> attempt(call, attempt + 1, result));
+            } else {
+                result.completeExceptionally(error);
+            }
+        });
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.rqchallenge.employees.upstream;
+
+import com.example.rqchallenge.employees.model.SalaryLeaders;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Computes {@link SalaryLeaders} straight from the token stream of an upstream {@code /employees} body,
+ * without materializing the roster. Salaries and ages are parsed from the parser's character buffer and a
+ * name only becomes a {@code String} when its employee enters the bounded top-N heap, so memory is O(limit)
+ * regardless of roster size.
+ * <p>
+ * Results match the roster snapshot path: employees whose salary or age is not an integer are skipped,
+ * and ties are ordered as they appear in the roster. Elements of {@code data} that are not objects, such as
+ * {@code null}, are skipped the same way.
+ */
+public final class SalaryLeadersParser {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    private static final long INVALID = Long.MIN_VALUE;
+
+    private SalaryLeadersParser() {
+    }
+
+    public static SalaryLeaders parse(InputStream body, int limit) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected the roster response object.");
+            }
+            TopEarners topEarners = new TopEarners(limit);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    readEmployees(parser, topEarners);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return topEarners.toSalaryLeaders();
+        }
+    }
+
+    private static void readEmployees(JsonParser parser, TopEarners topEarners) throws IOException {
+        char[] name = new char[64];
+        int position = 0;
+        JsonToken element;
+        while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+            if (element != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                position++;
+                continue;
+            }
+            int nameLength = -1;
+            long salary = INVALID;
+            long age = INVALID;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("employee_name".equals(field) && value == JsonToken.VALUE_STRING) {
+                    nameLength = parser.getTextLength();
+                    if (nameLength > name.length) {
+                        name = new char[Math.max(nameLength, name.length * 2)];
+                    }
+                    System.arraycopy(parser.getTextCharacters(), parser.getTextOffset(), name, 0, nameLength);
+                } else if ("employee_salary".equals(field)) {
+                    salary = readInt(parser, value);
+                } else if ("employee_age".equals(field)) {
+                    age = readInt(parser, value);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (salary != INVALID && age != INVALID) {
+                topEarners.offer((int) salary, position, name, nameLength);
+            }
+            position++;
+        }
+    }
+
+    private static long readInt(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getNumberType() == JsonParser.NumberType.INT ? parser.getIntValue() : INVALID;
+        }
+        if (value == JsonToken.VALUE_STRING) {
+            return parseInt(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        }
+        parser.skipChildren();
+        return INVALID;
+    }
+
+    /**
+     * Allocation-free equivalent of {@code Integer.parseInt(value.trim())}, returning {@link #INVALID} instead of throwing.
+     */
+    static long parseInt(char[] chars, int offset, int length) {
+        int start = offset;
+        int end = offset + length;
+        while (start < end && chars[start] <= ' ') {
+            start++;
+        }
+        while (end > start && chars[end - 1] <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return INVALID;
+        }
+        boolean negative = chars[start] == '-';
+        if (negative || chars[start] == '+') {
+            start++;
+            if (start == end) {
+                return INVALID;
+            }
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(chars[i], 10);
+            if (digit < 0) {
+                return INVALID;
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return INVALID;
+            }
+        }
+        value = negative ? -value : value;
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? INVALID : value;
+    }
+
+    /**
+     * Bounded min-heap whose root is the weakest of the current top earners: the lowest salary, and among
+     * equal salaries the one furthest down the roster.
+     */
+    private static final class TopEarners {
+        private final int limit;
+        private final int[] salaries;
+        private final int[] positions;
+        private final String[] names;
+        private int size;
+        private boolean any;
+        private int highestSalary;
+
+        TopEarners(int limit) {
+            this.limit = limit;
+            this.salaries = new int[limit];
+            this.positions = new int[limit];
+            this.names = new String[limit];
+        }
+
+        void offer(int salary, int position, char[] name, int nameLength) {
+            if (!any || salary > highestSalary) {
+                highestSalary = salary;
+                any = true;
+            }
+            if (size < limit) {
+                set(size, salary, position, toName(name, nameLength));
+                siftUp(size++);
+            } else if (limit > 0 && salary > salaries[0]) {
+                // A later employee never beats an equal salary, so only a strictly higher one displaces the root.
+                set(0, salary, position, toName(name, nameLength));
+                siftDown(0);
+            }
+        }
+
+        SalaryLeaders toSalaryLeaders() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> salaries[a] != salaries[b]
+                    ? Integer.compare(salaries[b], salaries[a])
+                    : Integer.compare(positions[a], positions[b]));
+            List<String> topEarnerNames = new ArrayList<>(size);
+            for (int slot : order) {
+                topEarnerNames.add(names[slot]);
+            }
+            return new SalaryLeaders(any ? highestSalary : 0, topEarnerNames);
+        }
+
+        private boolean weaker(int a, int b) {
+            return salaries[a] != salaries[b] ? salaries[a] < salaries[b] : positions[a] > positions[b];
+        }
+
+        private void siftUp(int slot) {
+            while (slot > 0) {
+                int parent = (slot - 1) / 2;
+                if (!weaker(slot, parent)) {
+                    return;
+                }
+                swap(slot, parent);
+                slot = parent;
+            }
+        }
+
+        private void siftDown(int slot) {
+            while (true) {
+                int left = 2 * slot + 1;
+                int right = left + 1;
+                int weakest = slot;
+                if (left < size && weaker(left, weakest)) {
+                    weakest = left;
+                }
+                if (right < size && weaker(right, weakest)) {
+                    weakest = right;
+                }
+                if (weakest == slot) {
+                    return;
+                }
+                swap(slot, weakest);
+                slot = weakest;
+            }
+        }
+
+        private void set(int slot, int salary, int position, String name) {
+            salaries[slot] = salary;
+            positions[slot] = position;
+            names[slot] = name;
+        }
+
+        private void swap(int a, int b) {
+            int salary = salaries[a];
+            int position = positions[a];
+            String name = names[a];
+            set(a, salaries[b], positions[b], names[b]);
+            set(b, salary, position, name);
+        }
+
+        private static String toName(char[] name, int nameLength) {
+            return nameLength < 0 ? null : new String(name, 0, nameLength);
+        }
+    }
+}
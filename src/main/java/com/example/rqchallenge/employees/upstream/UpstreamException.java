@@ -0,0 +1,20 @@
+package com.example.rqchallenge.employees.upstream;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Raised when the upstream employee API answers with a non-successful status or an empty body.
+ */
+public class UpstreamException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public UpstreamException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
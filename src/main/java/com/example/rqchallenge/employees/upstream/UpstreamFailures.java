@@ -0,0 +1,45 @@
+package com.example.rqchallenge.employees.upstream;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Classifies the errors upstream calls complete with, so breakers, retries and fallbacks agree on what
+ * counts as the upstream misbehaving.
+ */
+public final class UpstreamFailures {
+
+    private UpstreamFailures() {
+    }
+
+    /**
+     * Whether the error means the upstream is failing: server errors, throttling, timeouts and I/O errors.
+     * Client errors such as 404 are answers, not failures, and calls rejected locally by a bulkhead, an
+     * open circuit or the rate limiter never reached the upstream.
+     */
+    public static boolean isFailure(Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof UpstreamException) {
+            UpstreamException upstream = (UpstreamException) cause;
+            return upstream.getStatus().is5xxServerError() || upstream.getStatus().value() == 429;
+        }
+        return !(cause instanceof BulkheadFullException) && !(cause instanceof CircuitOpenException) && !(cause instanceof RateLimitedException);
+    }
+
+    /**
+     * Whether the upstream could not provide an answer right now, either because it failed or because the
+     * call was shed locally. Callers may serve cached data instead.
+     */
+    public static boolean isUnavailable(Throwable error) {
+        Throwable cause = unwrap(error);
+        return isFailure(cause) || cause instanceof BulkheadFullException || cause instanceof CircuitOpenException || cause instanceof RateLimitedException;
+    }
+
+    static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.rqchallenge.employees.upstream;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reports the circuit state of every upstream route as the {@code upstream} health component. An open
+ * circuit makes the component {@link #DEGRADED} rather than down: the service keeps answering from its
+ * roster snapshot, so it should not be restarted or taken out of rotation.
+ */
+@Component
+public class UpstreamHealthIndicator extends AbstractHealthIndicator {
+
+    public static final Status DEGRADED = new Status("DEGRADED", "An upstream circuit is open");
+
+    private final ResilientEmployeeClient employeeClient;
+
+    public UpstreamHealthIndicator(ResilientEmployeeClient employeeClient) {
+        super("Upstream health check failed");
+        this.employeeClient = employeeClient;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        boolean open = false;
+        Map<String, Object> circuits = new LinkedHashMap<>();
+        for (CircuitBreaker breaker : employeeClient.getCircuitBreakers()) {
+            open |= breaker.getState() == CircuitBreaker.State.OPEN;
+            circuits.put(breaker.getRoute(), Map.of(
+                    "state", breaker.getState(),
+                    "consecutiveFailures", breaker.getConsecutiveFailures()));
+        }
+        builder.status(open ? DEGRADED : Status.UP).withDetail("circuits", circuits);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.rqchallenge.employees.upstream;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Times each attempt of an upstream route in {@code employees.upstream.requests}, tagged with the route, the
+ * response status and its outcome ({@code SUCCESS}, {@code CLIENT_ERROR}, {@code SERVER_ERROR}, or {@code UNKNOWN}
+ * when no response arrived). The timer sits directly on the transport, so it measures the upstream and the network
+ * but not the time spent waiting for a bulkhead slot.
+ */
+public class UpstreamTimer {
+
+    private final String route;
+    private final MeterRegistry meterRegistry;
+
+    public UpstreamTimer(String route, MeterRegistry meterRegistry) {
+        this.route = route;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return call.get().whenComplete((response, error) -> sample.stop(timer(response, error)));
+    }
+
+    private Timer timer(Object response, Throwable error) {
+        String status;
+        String outcome;
+        if (error == null) {
+            int value = response instanceof ResponseEntity ? ((ResponseEntity<?>) response).getStatusCodeValue() : 200;
+            status = String.valueOf(value);
+            outcome = Outcome.forStatus(value).name();
+        } else if (UpstreamFailures.unwrap(error) instanceof UpstreamException) {
+            int value = ((UpstreamException) UpstreamFailures.unwrap(error)).getStatus().value();
+            status = String.valueOf(value);
+            outcome = Outcome.forStatus(value).name();
+        } else {
+            status = UpstreamFailures.unwrap(error).getClass().getSimpleName();
+            outcome = Outcome.UNKNOWN.name();
+        }
+        return Timer.builder("employees.upstream.requests")
+                .description("Upstream calls per attempt, by route and response status")
+                .tags("route", route, "status", status, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
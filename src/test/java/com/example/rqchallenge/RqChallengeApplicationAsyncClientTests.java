@@ -0,0 +1,24 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.employees.upstream.EmployeeClient;
+import com.example.rqchallenge.employees.upstream.HttpClientEmployeeClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "employees.upstream.client=async")
+class RqChallengeApplicationAsyncClientTests {
+
+    @Autowired
+    @Qualifier("transport")
+    private EmployeeClient employeeClient;
+
+    @Test
+    void asyncClientIsSelectedByConfiguration() {
+        assertTrue(employeeClient instanceof HttpClientEmployeeClient);
+    }
+
+}
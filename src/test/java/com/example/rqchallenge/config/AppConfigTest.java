@@ -0,0 +1,58 @@
+package com.example.rqchallenge.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppConfigTest {
+
+    private final AppConfig appConfig = new AppConfig();
+    private final EmployeeProperties properties = new EmployeeProperties();
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() {
+        properties.getHttp().setMaxConnections(12);
+        properties.getHttp().setMaxConnectionsPerRoute(4);
+        connectionManager = appConfig.upstreamConnectionManager(properties);
+        httpClient = appConfig.upstreamHttpClient(connectionManager, properties);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+    }
+
+    @Test
+    void testConnectionPoolIsSizedFromProperties() {
+        assertEquals(12, connectionManager.getMaxTotal());
+        assertEquals(4, connectionManager.getDefaultMaxPerRoute());
+    }
+
+    @Test
+    void testRestTemplateUsesPooledRequestFactory() {
+        RestTemplate restTemplate = appConfig.restTemplate(httpClient);
+
+        assertTrue(restTemplate.getRequestFactory() instanceof HttpComponentsClientHttpRequestFactory);
+    }
+
+    @Test
+    void testConnectionPoolMetricsAreRegistered() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        appConfig.upstreamConnectionPoolMetrics(connectionManager).bindTo(registry);
+
+        assertEquals(12, registry.get("employees.http.pool.connections").tag("state", "max").gauge().value());
+        assertEquals(0, registry.get("employees.http.pool.connections").tag("state", "leased").gauge().value());
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.rqchallenge.employees.controller;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.service.EmployeeService;
+import com.example.rqchallenge.employees.service.RosterChangeFeed;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CompressedETagFilterTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private RosterChangeFeed changeFeed;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ServerProperties serverProperties = new ServerProperties();
+        serverProperties.getCompression().setEnabled(true);
+        EncodedResponseCache encodedResponses = new EncodedResponseCache(new ObjectMapper(), serverProperties, new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(new EmployeeControllerImpl(employeeService, new ObjectMapper(), encodedResponses, changeFeed))
+                .setMessageConverters(encodedResponses, new MappingJackson2HttpMessageConverter())
+                .addFilters(new CompressedETagFilter(serverProperties))
+                .build();
+        when(employeeService.getHighestSalaryOfEmployees())
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(ResponseEntity.ok().eTag("0123456789abcdef").body(100000)));
+        List<String> names = IntStream.range(0, 300).mapToObj(i -> "Employee Number " + i).collect(Collectors.toList());
+        when(employeeService.getTopTenHighestEarningEmployeeNames())
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(ResponseEntity.ok().eTag("0123456789abcdef").body(names)));
+        List<Employee> employees = IntStream.range(0, 30).mapToObj(i -> new Employee(String.valueOf(i), "Employee Number " + i, "50000", "30", "")).collect(Collectors.toList());
+        when(employeeService.getEmployeesByNameSearch(eq("Employee"), any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(ResponseEntity.ok().eTag("0123456789abcdef").body(employees)));
+    }
+
+    @Test
+    void testIdentityResponsesKeepTheRosterETag() throws Exception {
+        perform(get("/employees/highestSalary"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0123456789abcdef\""))
+                .andExpect(content().string("100000"));
+        perform(get("/employees/highestSalary").header(HttpHeaders.IF_NONE_MATCH, "\"0123456789abcdef\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testGzipResponsesGetTheirOwnETagAndRevalidate() throws Exception {
+        perform(get("/employees/topTenHighestEarningEmployeeNames").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0123456789abcdef-gzip\""))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+        perform(get("/employees/topTenHighestEarningEmployeeNames").header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, "\"0123456789abcdef-gzip\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0123456789abcdef-gzip\""));
+    }
+
+    @Test
+    void testChangedRosterIsSentAgain() throws Exception {
+        perform(get("/employees/topTenHighestEarningEmployeeNames").header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, "\"fedcba9876543210-gzip\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0123456789abcdef-gzip\""))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    @Test
+    void testBodiesLeftToTheContainerKeepTheRosterETag() throws Exception {
+        perform(get("/employees/search/Employee").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0123456789abcdef\""));
+    }
+
+    @Test
+    void testBodiesTooSmallToCompressKeepTheRosterETag() throws Exception {
+        perform(get("/employees/highestSalary").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().doesNotExist(HttpHeaders.VARY))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0123456789abcdef\""))
+                .andExpect(content().string("100000"));
+        perform(get("/employees/highestSalary").header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, "\"0123456789abcdef\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0123456789abcdef\""));
+    }
+
+    @Test
+    void testGzipRefusedWithZeroQualityKeepsTheRosterETag() throws Exception {
+        perform(get("/employees/highestSalary").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0123456789abcdef\""));
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -1,14 +1,31 @@
 package com.example.rqchallenge.employees.controller;
 
+import com.example.rqchallenge.employees.model.BatchItemResult;
 import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeAnalytics;
+import com.example.rqchallenge.employees.model.EmployeeQuery;
+import com.example.rqchallenge.employees.model.EmployeesByIdsResponse;
 import com.example.rqchallenge.employees.service.EmployeeService;
+import com.example.rqchallenge.employees.service.RosterChangeFeed;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -17,44 +34,157 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class EmployeeControllerImplTest {
 
     @Mock
     private EmployeeService employeeService;
 
-    @InjectMocks
+    @Mock
+    private RosterChangeFeed changeFeed;
+
+    private EncodedResponseCache encodedResponses;
     private EmployeeControllerImpl employeeController;
 
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        encodedResponses = new EncodedResponseCache(new ObjectMapper(), new ServerProperties(), new SimpleMeterRegistry());
+        employeeController = new EmployeeControllerImpl(employeeService, new ObjectMapper(), encodedResponses, changeFeed);
     }
 
     @Test
     public void testGetAllEmployees() throws Exception {
         List<Employee> employees = List.of(new Employee(), new Employee());
-        when(employeeService.getAllEmployees()).thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(employees)));
+        EmployeeQuery query = new EmployeeQuery();
+        when(employeeService.getEmployees(query)).thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(employees)));
 
-        CompletableFuture<ResponseEntity<List<Employee>>> future = employeeController.getAllEmployees();
+        CompletableFuture<ResponseEntity<List<Employee>>> future = employeeController.getAllEmployees(query);
         ResponseEntity<List<Employee>> responseEntity = future.get();
 
         assertEquals(200, responseEntity.getStatusCodeValue());
         assertEquals(2, responseEntity.getBody().size());
-        verify(employeeService, times(1)).getAllEmployees();
+        verify(employeeService, times(1)).getEmployees(query);
+    }
+
+    @Test
+    public void testStreamAllEmployeesWritesOneEmployeePerLine() throws Exception {
+        List<Employee> employees = List.of(new Employee("1", "John Doe", "50000", "30", ""), new Employee("2", "Jane Doe", "60000", "25", ""));
+        when(employeeService.getAllEmployees()).thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(employees)));
+
+        ResponseEntity<StreamingResponseBody> responseEntity = employeeController.streamAllEmployees().get();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        responseEntity.getBody().writeTo(output);
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertEquals(200, responseEntity.getStatusCodeValue());
+        assertEquals(MediaType.APPLICATION_NDJSON, responseEntity.getHeaders().getContentType());
+        assertEquals(2, lines.length);
+        assertTrue(output.toString(StandardCharsets.UTF_8).endsWith("\n"));
+        assertEquals("John Doe", new ObjectMapper().readValue(lines[0], Employee.class).getEmployee_name());
+        assertEquals("Jane Doe", new ObjectMapper().readValue(lines[1], Employee.class).getEmployee_name());
+    }
+
+    @Test
+    public void testStreamAllEmployeesPassesThroughFailures() throws Exception {
+        when(employeeService.getAllEmployees()).thenReturn(CompletableFuture.completedFuture(ResponseEntity.status(503).build()));
+
+        ResponseEntity<StreamingResponseBody> responseEntity = employeeController.streamAllEmployees().get();
+
+        assertEquals(503, responseEntity.getStatusCodeValue());
+        assertNull(responseEntity.getBody());
+    }
+
+    @Test
+    public void testAcceptHeaderSelectsNdjsonStream() throws Exception {
+        List<Employee> employees = List.of(new Employee("1", "John Doe", "50000", "30", ""));
+        when(employeeService.getAllEmployees()).thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(employees)));
+        when(employeeService.getEmployees(any())).thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(employees)));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(employeeController).build();
+
+        MvcResult ndjson = mockMvc.perform(get("/employees").accept(MediaType.APPLICATION_NDJSON)).andReturn();
+        mockMvc.perform(asyncDispatch(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+
+        MvcResult json = mockMvc.perform(get("/employees").accept(MediaType.APPLICATION_JSON)).andReturn();
+        mockMvc.perform(asyncDispatch(json))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
 
     @Test
     public void testGetEmployeesByNameSearch() throws Exception {
         List<Employee> employees = List.of(new Employee(), new Employee());
-        when(employeeService.getEmployeesByNameSearch(anyString())).thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(employees)));
+        EmployeeQuery query = new EmployeeQuery();
+        when(employeeService.getEmployeesByNameSearch(anyString(), any())).thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(employees)));
 
-        CompletableFuture<ResponseEntity<List<Employee>>> future = employeeController.getEmployeesByNameSearch("John");
+        CompletableFuture<ResponseEntity<List<Employee>>> future = employeeController.getEmployeesByNameSearch("John", query);
         ResponseEntity<List<Employee>> responseEntity = future.get();
 
         assertEquals(200, responseEntity.getStatusCodeValue());
         assertEquals(2, responseEntity.getBody().size());
-        verify(employeeService, times(1)).getEmployeesByNameSearch("John");
+        verify(employeeService, times(1)).getEmployeesByNameSearch("John", query);
+    }
+
+    @Test
+    public void testEmployeeAnalyticsAreServedAsEncodedJson() throws Exception {
+        EmployeeAnalytics analytics = new EmployeeAnalytics(2, 0, new EmployeeAnalytics.SalaryStatistics(50000, 100000, 75000, 75000, 100000),
+                List.of(new EmployeeAnalytics.SalaryBucket(50000, 100000, 1), new EmployeeAnalytics.SalaryBucket(100000, 150000, 1)),
+                List.of(new EmployeeAnalytics.AgeBand("25-34", 2)));
+        when(employeeService.getEmployeeAnalytics()).thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok().eTag("abc").body(analytics)));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(employeeController)
+                .setMessageConverters(encodedResponses, new MappingJackson2HttpMessageConverter())
+                .build();
+
+        MvcResult result = mockMvc.perform(get("/employees/analytics")).andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc\""))
+                .andExpect(jsonPath("$.employeeCount").value(2))
+                .andExpect(jsonPath("$.salary.median").value(75000.0))
+                .andExpect(jsonPath("$.salary.p90").value(100000))
+                .andExpect(jsonPath("$.salaryHistogram[1].from").value(100000))
+                .andExpect(jsonPath("$.ageBands[0].band").value("25-34"));
+    }
+
+    @Test
+    public void testQueryParametersAreBoundAndFieldsProjected() throws Exception {
+        List<Employee> employees = List.of(new Employee("1", "John Doe", "50000", "30", "http://example.com/john.png"));
+        when(employeeService.getEmployees(any())).thenReturn(CompletableFuture.completedFuture(
+                ResponseEntity.ok().header("X-Total-Count", "7").body(employees)));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(employeeController).setControllerAdvice(new FieldProjectionAdvice()).build();
+
+        MvcResult result = mockMvc.perform(get("/employees?page=2&size=3&sort=salary,desc&fields=employee_name,id")
+                .accept(MediaType.APPLICATION_JSON)).andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "7"))
+                .andExpect(content().json("[{\"id\":\"1\",\"employee_name\":\"John Doe\"}]", true));
+
+        ArgumentCaptor<EmployeeQuery> query = ArgumentCaptor.forClass(EmployeeQuery.class);
+        verify(employeeService).getEmployees(query.capture());
+        assertEquals(2, query.getValue().getPage());
+        assertEquals(3, query.getValue().getSize());
+        assertEquals("salary,desc", query.getValue().getSort());
+        assertEquals(List.of("employee_name", "id"), query.getValue().getFields());
+    }
+
+    @Test
+    public void testUnknownFieldIsRejected() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(employeeController).build();
+
+        MvcResult result = mockMvc.perform(get("/employees/search/John?fields=id,salary").accept(MediaType.APPLICATION_JSON)).andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isBadRequest());
+
+        verify(employeeService, never()).getEmployeesByNameSearch(anyString(), any());
     }
 
     @Test
@@ -120,4 +250,46 @@ public class EmployeeControllerImplTest {
         assertEquals("success", responseEntity.getBody());
         verify(employeeService, times(1)).deleteEmployeeById("1");
     }
+
+    @Test
+    public void testDeleteEmployeesByIdsAcceptsJsonArray() throws Exception {
+        when(employeeService.deleteEmployeesByIds(List.of("1", "2"))).thenReturn(CompletableFuture.completedFuture(
+                ResponseEntity.ok(List.of(BatchItemResult.success(0, "1"), BatchItemResult.failed(1, "2", "404 NOT_FOUND")))));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(employeeController).build();
+
+        MvcResult result = mockMvc.perform(delete("/employees/batch").contentType(MediaType.APPLICATION_JSON).content("[\"1\",\"2\"]")).andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("success"))
+                .andExpect(jsonPath("$[1].reason").value("404 NOT_FOUND"));
+    }
+
+    @Test
+    public void testGetEmployeesByIdsSplitsCommaSeparatedIds() throws Exception {
+        EmployeesByIdsResponse lookup = new EmployeesByIdsResponse(List.of(new Employee("2", "Jane Doe", "60000", "25", "")), List.of("5"), List.of());
+        when(employeeService.getEmployeesByIds(List.of("2", "5"))).thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(lookup)));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(employeeController).build();
+
+        MvcResult result = mockMvc.perform(get("/employees/by-ids").param("ids", "2,5")).andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees[0].id").value("2"))
+                .andExpect(jsonPath("$.notFound[0]").value("5"));
+    }
+
+    @Test
+    public void testRosterChangesResumeFromLastEventIdHeaderOrSinceParameter() throws Exception {
+        when(changeFeed.subscribe(anyString())).thenReturn(new SseEmitter());
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(employeeController).build();
+
+        mockMvc.perform(get("/employees/changes").accept(MediaType.TEXT_EVENT_STREAM).header("Last-Event-ID", "abc-7").param("since", "abc-3"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/employees/changes").accept(MediaType.TEXT_EVENT_STREAM).param("since", "abc-3"))
+                .andExpect(status().isOk());
+
+        verify(changeFeed).subscribe("abc-7");
+        verify(changeFeed).subscribe("abc-3");
+    }
 }
@@ -0,0 +1,132 @@
+package com.example.rqchallenge.employees.controller;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncodedResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Employee> employees = List.of(new Employee("1", "John Doe", "50000", "30", ""));
+
+    private SimpleMeterRegistry meterRegistry;
+    private ServerProperties serverProperties;
+    private EncodedResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        serverProperties = new ServerProperties();
+        serverProperties.getCompression().setEnabled(true);
+        serverProperties.getCompression().setMinResponseSize(DataSize.ofBytes(64));
+        cache = new EncodedResponseCache(objectMapper, serverProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testBodyIsEncodedOncePerRosterETag() throws Exception {
+        MockHttpOutputMessage first = write(cache, "employees", "a", employees, null);
+        MockHttpOutputMessage second = write(cache, "employees", "a", List.of(), null);
+        MockHttpOutputMessage changed = write(cache, "employees", "b", List.of(), null);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(employees), first.getBodyAsBytes());
+        assertArrayEquals(first.getBodyAsBytes(), second.getBodyAsBytes());
+        assertEquals("[]", changed.getBodyAsString());
+        assertEquals(MediaType.APPLICATION_JSON, first.getHeaders().getContentType());
+        assertEquals(first.getBodyAsBytes().length, first.getHeaders().getContentLength());
+        assertEquals(1, meterRegistry.get("employees.http.encoded.responses").tag("result", "hit").counter().count());
+        assertEquals(2, meterRegistry.get("employees.http.encoded.responses").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void testGzipVariantIsServedToClientsThatAcceptIt() throws Exception {
+        MockHttpOutputMessage gzipped = write(cache, "employees", "a", employees, "br, gzip");
+        MockHttpOutputMessage again = write(cache, "employees", "a", employees, "gzip");
+
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(gzipped.getBodyAsBytes().length, gzipped.getHeaders().getContentLength());
+        assertArrayEquals(gzipped.getBodyAsBytes(), again.getBodyAsBytes());
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBodyAsBytes()))) {
+            assertArrayEquals(objectMapper.writeValueAsBytes(employees), input.readAllBytes());
+        }
+    }
+
+    @Test
+    void testGzipIsLeftToTheContainerWhenCompressionIsDisabled() throws Exception {
+        EncodedResponseCache identityOnly = new EncodedResponseCache(objectMapper, new ServerProperties(), meterRegistry);
+
+        MockHttpOutputMessage response = write(identityOnly, "employees", "a", employees, "gzip");
+
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(objectMapper.writeValueAsBytes(employees), response.getBodyAsBytes());
+    }
+
+    @Test
+    void testBodiesTheContainerWouldNotCompressAreNotGzipped() throws Exception {
+        MockHttpOutputMessage small = write(cache, "highestSalary", "a", 50000, "gzip");
+        serverProperties.getCompression().setMimeTypes(new String[] {"text/html"});
+        EncodedResponseCache htmlOnly = new EncodedResponseCache(objectMapper, serverProperties, meterRegistry);
+        MockHttpOutputMessage unlisted = write(htmlOnly, "employees", "a", employees, "gzip");
+
+        assertNull(small.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("50000", small.getBodyAsString());
+        assertNull(unlisted.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(objectMapper.writeValueAsBytes(employees), unlisted.getBodyAsBytes());
+    }
+
+    @Test
+    void testResponsesWithoutETagAreSerializedPerRequest() throws Exception {
+        MockHttpOutputMessage streamed = write(cache, "highestSalary", null, 50000, "gzip");
+
+        assertEquals("50000", streamed.getBodyAsString());
+        assertNull(streamed.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(0, meterRegistry.get("employees.http.encoded.responses").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void testOnlyRequestsMarkedByTheControllerAreWrittenFromTheCache() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        assertFalse(cache.canWrite(Integer.class, MediaType.APPLICATION_JSON));
+        cache.cacheResponse("highestSalary");
+        assertTrue(cache.canWrite(Integer.class, MediaType.APPLICATION_JSON));
+        assertFalse(cache.canWrite(Integer.class, MediaType.TEXT_PLAIN));
+        assertFalse(cache.canRead(Integer.class, MediaType.APPLICATION_JSON));
+    }
+
+    private static MockHttpOutputMessage write(EncodedResponseCache cache, String endpoint, String etag, Object body, String acceptEncoding) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        cache.cacheResponse(endpoint);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        if (etag != null) {
+            output.getHeaders().setETag("\"" + etag + "\"");
+        }
+        cache.write(body, MediaType.APPLICATION_JSON, output);
+        return output;
+    }
+}
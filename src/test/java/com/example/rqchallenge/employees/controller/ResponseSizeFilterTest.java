@@ -0,0 +1,79 @@
+package com.example.rqchallenge.employees.controller;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.service.EmployeeService;
+import com.example.rqchallenge.employees.service.RosterChangeFeed;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ResponseSizeFilterTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private RosterChangeFeed changeFeed;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        mockMvc = MockMvcBuilders.standaloneSetup(new EmployeeControllerImpl(employeeService, new ObjectMapper(), new EncodedResponseCache(new ObjectMapper(), new ServerProperties(), meterRegistry), changeFeed))
+                .setControllerAdvice(new FieldProjectionAdvice())
+                .addFilters(new ResponseSizeFilter(meterRegistry))
+                .build();
+    }
+
+    @Test
+    void testRecordsBodySizeOnceAcrossAsyncDispatches() throws Exception {
+        when(employeeService.getEmployeeById("1"))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(new Employee("1", "John Doe", "50000", "30", ""))));
+
+        MvcResult result = mockMvc.perform(get("/employees/1").accept(MediaType.APPLICATION_JSON)).andReturn();
+        int length = mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk()).andReturn().getResponse().getContentAsByteArray().length;
+
+        DistributionSummary sizes = meterRegistry.get("employees.http.response.size")
+                .tags("method", "GET", "uri", "/employees/{id}", "status", "200")
+                .summary();
+        assertEquals(1, sizes.count());
+        assertEquals(length, sizes.totalAmount());
+    }
+
+    @Test
+    void testProjectionShrinksRecordedPayload() throws Exception {
+        List<Employee> employees = List.of(new Employee("1", "John Doe", "50000", "30", "http://example.com/john-doe.png"));
+        when(employeeService.getEmployees(any()))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(employees)));
+
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/employees").accept(MediaType.APPLICATION_JSON)).andReturn()));
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/employees?fields=id").accept(MediaType.APPLICATION_JSON)).andReturn()));
+
+        DistributionSummary sizes = meterRegistry.get("employees.http.response.size").tags("uri", "/employees").summary();
+        assertEquals(2, sizes.count());
+        assertEquals("[{\"id\":\"1\"}]".length(), sizes.totalAmount() - new ObjectMapper().writeValueAsBytes(employees).length);
+    }
+}
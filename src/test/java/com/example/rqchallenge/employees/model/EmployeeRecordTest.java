@@ -0,0 +1,52 @@
+package com.example.rqchallenge.employees.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeRecordTest {
+
+    @Test
+    void testFromParsesNumericFields() {
+        Employee employee = new Employee("1", "John Doe", "50000", "30", "image.jpg");
+
+        EmployeeRecord record = EmployeeRecord.from(employee);
+
+        assertSame(employee, record.getEmployee());
+        assertEquals("1", record.getId());
+        assertEquals("John Doe", record.getName());
+        assertEquals(50000, record.getSalary());
+        assertEquals(30, record.getAge());
+    }
+
+    @Test
+    void testFromSharesTheNameWithoutTouchingTheEmployee() {
+        String name = new String("John Doe");
+        Employee employee = new Employee("1", name, "50000", "30", "");
+
+        EmployeeRecord record = EmployeeRecord.from(employee);
+
+        assertSame(name, employee.getEmployee_name());
+        assertSame(name, record.getName());
+    }
+
+    @Test
+    void testFromKeepsWireFormatUnchanged() {
+        Employee employee = new Employee("1", "John Doe", "50000", "30", "image.jpg");
+
+        EmployeeRecord.from(employee);
+
+        assertEquals("50000", employee.getEmployee_salary());
+        assertEquals("30", employee.getEmployee_age());
+    }
+
+    @Test
+    void testFromRejectsMalformedSalary() {
+        assertThrows(IllegalArgumentException.class, () -> EmployeeRecord.from(new Employee("1", "John Doe", "lots", "30", "")));
+    }
+
+    @Test
+    void testFromRejectsMissingAge() {
+        assertThrows(IllegalArgumentException.class, () -> EmployeeRecord.from(new Employee("1", "John Doe", "50000", null, "")));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.rqchallenge.employees.roster;
+
+import com.example.rqchallenge.config.EmployeeProperties;
+import com.example.rqchallenge.employees.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EmployeeProperties properties = new EmployeeProperties();
+
+    @Test
+    void testCountsHitsAndMisses() {
+        EmployeeCache cache = new EmployeeCache(properties, meterRegistry);
+        Employee employee = employee("1");
+        cache.put(employee);
+
+        assertSame(employee, cache.get("1"));
+        assertNull(cache.get("2"));
+        assertNull(cache.get(null));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1.0, meterRegistry.get("employees.cache.gets").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void testInvalidateRemovesEntry() {
+        EmployeeCache cache = new EmployeeCache(properties, meterRegistry);
+        cache.putAll(List.of(employee("1"), employee("2")));
+
+        cache.invalidate("1");
+
+        assertNull(cache.get("1"));
+        assertNotNull(cache.get("2"));
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    void testExpiredEntriesAreEvicted() throws InterruptedException {
+        properties.getCache().setTtl(Duration.ofMillis(20));
+        EmployeeCache cache = new EmployeeCache(properties, meterRegistry);
+        cache.put(employee("1"));
+
+        Thread.sleep(30);
+
+        assertNull(cache.get("1"));
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testSizeIsBoundedEvictingLeastRecentlyUsed() {
+        properties.getCache().setMaxSize(1);
+        EmployeeCache cache = new EmployeeCache(properties, meterRegistry);
+        cache.put(employee("1"));
+        cache.put(employee("2"));
+
+        assertNull(cache.get("1"));
+        assertNotNull(cache.get("2"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void testSizeStaysWithinMaximumAcrossSegments() {
+        properties.getCache().setMaxSize(100);
+        EmployeeCache cache = new EmployeeCache(properties, meterRegistry);
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            roster.add(employee(String.valueOf(i)));
+        }
+
+        cache.putAll(roster);
+
+        assertTrue(cache.size() <= 100, String.valueOf(cache.size()));
+        assertEquals(1_000 - cache.size(), cache.getEvictionCount());
+        assertNotNull(cache.get("999"));
+    }
+
+    private static Employee employee(String id) {
+        return new Employee(id, "Employee " + id, "100", "30", "");
+    }
+}
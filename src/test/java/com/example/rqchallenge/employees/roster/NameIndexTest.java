@@ -0,0 +1,67 @@
+package com.example.rqchallenge.employees.roster;
+
+import com.example.rqchallenge.employees.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameIndexTest {
+
+    private static final List<Employee> ROSTER = List.of(
+            employee("1", "Tiger Nixon"),
+            employee("2", "Garrett Winters"),
+            employee("3", "Ashton Cox"),
+            employee("4", null),
+            employee("5", "Cedric Kelly"),
+            employee("6", "Airi Satou"),
+            employee("7", "BRIELLE WILLIAMSON"),
+            employee("8", "Herrod Chandler"),
+            employee("9", "Rhona Davidson"),
+            employee("10", "Colleen Hurst"));
+
+    private final NameIndex index = NameIndex.build(ROSTER);
+
+    @Test
+    void testMatchesLinearScanForAllQueries() {
+        for (String query : List.of("", "a", "Ti", "on", "son", "SON", "williamson", "er ni", "tgr", "rr", "Colleen Hurst", "xyz", "Nixon Tiger", "aaa")) {
+            assertEquals(linearScan(query), index.search(query), "query: '" + query + "'");
+        }
+    }
+
+    @Test
+    void testResultsKeepRosterOrder() {
+        List<String> ids = index.search("on").stream().map(Employee::getId).collect(Collectors.toList());
+
+        assertEquals(List.of("1", "3", "7", "9"), ids);
+        assertArrayEquals(new int[]{0, 2, 6, 8}, index.searchPositions("on"));
+    }
+
+    @Test
+    void testTrigramsPresentButNotAdjacentDoNotMatch() {
+        NameIndex repeated = NameIndex.build(List.of(employee("1", "abcxbcd")));
+
+        assertTrue(repeated.search("abcd").isEmpty());
+        assertEquals(1, repeated.search("bcd").size());
+    }
+
+    @Test
+    void testRepeatedSearchesDoNotCorruptPostings() {
+        List<Employee> first = index.search("rri");
+        index.search("garrett");
+
+        assertEquals(first, index.search("rri"));
+    }
+
+    private static List<Employee> linearScan(String query) {
+        return ROSTER.stream()
+                .filter(employee -> employee.getEmployee_name() != null && employee.getEmployee_name().toLowerCase().contains(query.toLowerCase()))
+                .collect(Collectors.toList());
+    }
+
+    private static Employee employee(String id, String name) {
+        return new Employee(id, name, "50000", "30", "");
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.rqchallenge.employees.roster;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeAnalytics;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterAnalyticsTest {
+
+    @Test
+    void testSalaryStatisticsHistogramAndAgeBands() {
+        RosterSnapshot snapshot = new RosterSnapshot(1, List.of(
+                new Employee("1", "A", "10000", "22", ""),
+                new Employee("2", "B", "30000", "25", ""),
+                new Employee("3", "C", "40000", "34", ""),
+                new Employee("4", "D", "60000", "47", ""),
+                new Employee("5", "E", "100000", "70", ""),
+                new Employee("6", "F", "n/a", "30", "")), System.nanoTime());
+
+        EmployeeAnalytics analytics = snapshot.getAnalytics(25000, Integer.MAX_VALUE);
+
+        assertEquals(5, analytics.getEmployeeCount());
+        assertEquals(1, analytics.getQuarantinedCount());
+        assertEquals(10000, analytics.getSalary().getMin());
+        assertEquals(100000, analytics.getSalary().getMax());
+        assertEquals(48000.0, analytics.getSalary().getAverage());
+        assertEquals(40000.0, analytics.getSalary().getMedian());
+        assertEquals(100000, analytics.getSalary().getP90());
+        assertEquals(List.of(0L, 25000L, 50000L, 75000L, 100000L), analytics.getSalaryHistogram().stream().map(EmployeeAnalytics.SalaryBucket::getFrom).collect(Collectors.toList()));
+        assertEquals(List.of(1, 2, 1, 0, 1), analytics.getSalaryHistogram().stream().map(EmployeeAnalytics.SalaryBucket::getCount).collect(Collectors.toList()));
+        assertEquals(List.of("<25", "25-34", "35-44", "45-54", "55-64", "65+"), analytics.getAgeBands().stream().map(EmployeeAnalytics.AgeBand::getBand).collect(Collectors.toList()));
+        assertEquals(List.of(1, 2, 0, 1, 0, 1), analytics.getAgeBands().stream().map(EmployeeAnalytics.AgeBand::getCount).collect(Collectors.toList()));
+        assertSame(analytics, snapshot.getAnalytics(25000, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testMedianOfEvenRosterAveragesTheMiddleSalaries() {
+        RosterSnapshot snapshot = new RosterSnapshot(1, List.of(
+                new Employee("1", "A", "10000", "30", ""),
+                new Employee("2", "B", "20001", "30", "")), System.nanoTime());
+
+        assertEquals(15000.5, snapshot.getAnalytics(25000, Integer.MAX_VALUE).getSalary().getMedian());
+    }
+
+    @Test
+    void testParallelComputationMatchesSequential() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            employees.add(new Employee(String.valueOf(i), "Employee " + i, String.valueOf(20000 + (i * 7919) % 180000), String.valueOf(18 + i % 50), ""));
+        }
+        RosterSnapshot snapshot = new RosterSnapshot(1, employees, System.nanoTime());
+
+        EmployeeAnalytics sequential = RosterAnalytics.compute(snapshot.getRecords(), snapshot.getSalaryIndex(), 0, 10000, Integer.MAX_VALUE);
+        EmployeeAnalytics parallel = RosterAnalytics.compute(snapshot.getRecords(), snapshot.getSalaryIndex(), 0, 10000, 0);
+
+        assertEquals(sequential.getSalary().getAverage(), parallel.getSalary().getAverage());
+        assertEquals(counts(sequential), counts(parallel));
+        assertEquals(sequential.getAgeBands().stream().map(EmployeeAnalytics.AgeBand::getCount).collect(Collectors.toList()),
+                parallel.getAgeBands().stream().map(EmployeeAnalytics.AgeBand::getCount).collect(Collectors.toList()));
+        assertEquals(20000, counts(parallel).stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void testNarrowBucketsAreWidenedToBoundTheHistogram() {
+        RosterSnapshot snapshot = new RosterSnapshot(1, List.of(
+                new Employee("1", "A", "0", "30", ""),
+                new Employee("2", "B", "10000000", "30", "")), System.nanoTime());
+
+        List<EmployeeAnalytics.SalaryBucket> histogram = snapshot.getAnalytics(1, Integer.MAX_VALUE).getSalaryHistogram();
+
+        assertTrue(histogram.size() <= RosterAnalytics.MAX_BUCKETS);
+        assertEquals(1, histogram.get(0).getCount());
+        assertEquals(1, histogram.get(histogram.size() - 1).getCount());
+    }
+
+    @Test
+    void testRosterWithoutValidEmployeesHasNoSalaryStatistics() {
+        RosterSnapshot snapshot = new RosterSnapshot(1, List.of(new Employee("1", "A", "n/a", "30", "")), System.nanoTime());
+
+        EmployeeAnalytics analytics = snapshot.getAnalytics(25000, Integer.MAX_VALUE);
+
+        assertEquals(0, analytics.getEmployeeCount());
+        assertNull(analytics.getSalary());
+        assertTrue(analytics.getSalaryHistogram().isEmpty());
+        assertEquals(6, analytics.getAgeBands().size());
+    }
+
+    private static List<Integer> counts(EmployeeAnalytics analytics) {
+        return analytics.getSalaryHistogram().stream().map(EmployeeAnalytics.SalaryBucket::getCount).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.rqchallenge.employees.roster;
+
+import com.example.rqchallenge.config.EmployeeProperties;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeResponse;
+import com.example.rqchallenge.employees.model.RosterChange;
+import com.example.rqchallenge.employees.upstream.EmployeeClient;
+import com.example.rqchallenge.employees.upstream.UpstreamException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RosterCacheTest {
+
+    @Mock
+    private EmployeeClient employeeClient;
+
+    private EmployeeProperties properties;
+    private EmployeeCache employeeCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new EmployeeProperties();
+    }
+
+    @Test
+    void testFirstLoadIsSharedByLaterReads() {
+        when(employeeClient.getEmployees()).thenReturn(rosterResponse("John Doe"));
+        RosterCache rosterCache = newRosterCache();
+
+        RosterSnapshot first = rosterCache.getSnapshot().join();
+        RosterSnapshot second = rosterCache.getSnapshot().join();
+
+        assertSame(first, second);
+        assertEquals(1, first.getEmployees().size());
+        verify(employeeClient, times(1)).getEmployees();
+    }
+
+    @Test
+    void testStaleSnapshotIsServedWhileRevalidating() {
+        properties.getRoster().setTtl(Duration.ZERO);
+        CompletableFuture<ResponseEntity<EmployeeResponse>> revalidation = new CompletableFuture<>();
+        when(employeeClient.getEmployees())
+                .thenReturn(rosterResponse("John Doe"))
+                .thenReturn(revalidation);
+        RosterCache rosterCache = newRosterCache();
+
+        RosterSnapshot initial = rosterCache.getSnapshot().join();
+        RosterSnapshot stale = rosterCache.getSnapshot().join();
+        revalidation.complete(rosterResponse("John Doe", "Jane Doe").join());
+        RosterSnapshot refreshed = rosterCache.getSnapshot().join();
+
+        assertSame(initial, stale);
+        assertTrue(refreshed.getVersion() > initial.getVersion());
+        assertEquals(2, refreshed.getEmployees().size());
+    }
+
+    @Test
+    void testConcurrentRefreshesShareOneFetch() {
+        CompletableFuture<ResponseEntity<EmployeeResponse>> pending = new CompletableFuture<>();
+        when(employeeClient.getEmployees()).thenReturn(pending);
+        RosterCache rosterCache = newRosterCache();
+
+        CompletableFuture<RosterSnapshot> first = rosterCache.getSnapshot();
+        CompletableFuture<RosterSnapshot> second = rosterCache.getSnapshot();
+        pending.complete(rosterResponse("John Doe").join());
+
+        assertSame(first.join(), second.join());
+        verify(employeeClient, times(1)).getEmployees();
+    }
+
+    @Test
+    void testFailedFirstLoadCompletesExceptionally() {
+        when(employeeClient.getEmployees()).thenReturn(CompletableFuture.failedFuture(new UpstreamException(HttpStatus.TOO_MANY_REQUESTS, "slow down")));
+        RosterCache rosterCache = newRosterCache();
+
+        CompletionException error = assertThrows(CompletionException.class, () -> rosterCache.getSnapshot().join());
+        assertTrue(error.getCause() instanceof UpstreamException);
+    }
+
+    @Test
+    void testCreatedAndDeletedEmployeesUpdateSnapshot() {
+        when(employeeClient.getEmployees()).thenReturn(rosterResponse("John Doe"));
+        RosterCache rosterCache = newRosterCache();
+        RosterSnapshot loaded = rosterCache.getSnapshot().join();
+        assertEquals(50000, loaded.getSalaryIndex().getHighestSalary());
+
+        rosterCache.recordCreated(new Employee("7", "Jane Doe", "90000", "25", ""));
+        RosterSnapshot created = rosterCache.getSnapshot().join();
+        rosterCache.recordDeleted("7");
+        RosterSnapshot deleted = rosterCache.getSnapshot().join();
+
+        assertTrue(created.getVersion() > loaded.getVersion());
+        assertEquals(List.of("Jane Doe", "John Doe"), created.getSalaryIndex().getTopEarnerNames(10));
+        assertTrue(deleted.getVersion() > created.getVersion());
+        assertEquals(1, deleted.getEmployees().size());
+        assertEquals(50000, deleted.getSalaryIndex().getHighestSalary());
+    }
+
+    @Test
+    void testRefreshesCreatesAndDeletesArePublishedAsChangesById() {
+        when(employeeClient.getEmployees())
+                .thenReturn(rosterResponse("John Doe", "Jane Doe", "Jim Doe"))
+                .thenReturn(rosterResponse("John Doe", "Janet Doe"));
+        RosterCache rosterCache = newRosterCache();
+        List<RosterChange> changes = new ArrayList<>();
+        rosterCache.addChangeListener(changes::addAll);
+
+        rosterCache.getSnapshot().join();
+        rosterCache.recordCreated(new Employee("7", "Joe Doe", "90000", "25", ""));
+        rosterCache.recordDeleted("7");
+        rosterCache.recordDeleted("99");
+        RosterSnapshot refreshed = rosterCache.refresh().join();
+
+        assertEquals(List.of("ADDED 7", "REMOVED 7", "CHANGED 2", "REMOVED 3"),
+                changes.stream().map(change -> change.getType() + " " + change.getId()).collect(Collectors.toList()));
+        assertEquals("Janet Doe", changes.get(2).getEmployee().getEmployee_name());
+        assertEquals("Jim Doe", changes.get(3).getEmployee().getEmployee_name());
+        assertEquals(refreshed.getVersion(), changes.get(3).getRosterVersion());
+    }
+
+    @Test
+    void testRefreshRequestedBeforeACreateKeepsTheCreatedEmployee() {
+        CompletableFuture<ResponseEntity<EmployeeResponse>> inFlight = new CompletableFuture<>();
+        when(employeeClient.getEmployees())
+                .thenReturn(rosterResponse("John Doe"))
+                .thenReturn(inFlight);
+        RosterCache rosterCache = newRosterCache();
+        List<RosterChange> changes = new ArrayList<>();
+        rosterCache.addChangeListener(changes::addAll);
+        RosterSnapshot loaded = rosterCache.getSnapshot().join();
+
+        CompletableFuture<RosterSnapshot> refresh = rosterCache.refresh();
+        rosterCache.recordCreated(new Employee("7", "Jane Doe", "90000", "25", ""));
+        RosterSnapshot created = rosterCache.getCurrentSnapshot();
+        inFlight.complete(rosterResponse("John Doe").join());
+        RosterSnapshot refreshed = refresh.join();
+
+        assertTrue(created.getVersion() > loaded.getVersion());
+        assertTrue(refreshed.getVersion() > created.getVersion());
+        assertSame(refreshed, rosterCache.getCurrentSnapshot());
+        assertEquals(List.of("John Doe", "Jane Doe"), refreshed.getEmployees().stream().map(Employee::getEmployee_name).collect(Collectors.toList()));
+        assertEquals(List.of("ADDED 7"), changes.stream().map(change -> change.getType() + " " + change.getId()).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testRefreshThatAlreadyHasTheCreatedEmployeeDoesNotAddItTwice() {
+        CompletableFuture<ResponseEntity<EmployeeResponse>> inFlight = new CompletableFuture<>();
+        when(employeeClient.getEmployees())
+                .thenReturn(rosterResponse("John Doe"))
+                .thenReturn(inFlight);
+        RosterCache rosterCache = newRosterCache();
+        List<RosterChange> changes = new ArrayList<>();
+        rosterCache.addChangeListener(changes::addAll);
+        rosterCache.getSnapshot().join();
+
+        CompletableFuture<RosterSnapshot> refresh = rosterCache.refresh();
+        rosterCache.recordCreated(new Employee("2", "Jane Doe", "50000", "30", ""));
+        inFlight.complete(rosterResponse("John Doe", "Jane Doe").join());
+        RosterSnapshot refreshed = refresh.join();
+
+        assertEquals(2, refreshed.getEmployees().size());
+        assertEquals(List.of("ADDED 2"), changes.stream().map(change -> change.getType() + " " + change.getId()).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testSalaryLeadersKeepLocalWritesMadeWhileARefreshIsInFlight() {
+        CompletableFuture<ResponseEntity<EmployeeResponse>> inFlight = new CompletableFuture<>();
+        when(employeeClient.getEmployees())
+                .thenReturn(rosterResponse("John Doe", "Jane Doe"))
+                .thenReturn(inFlight);
+        RosterCache rosterCache = newRosterCache();
+        rosterCache.getSnapshot().join();
+
+        CompletableFuture<RosterSnapshot> refresh = rosterCache.refresh();
+        rosterCache.recordCreated(new Employee("7", "Joe Doe", "90000", "25", ""));
+        rosterCache.recordDeleted("1");
+        RosterSnapshot written = rosterCache.getCurrentSnapshot();
+        rosterCache.recordDeleted("99");
+        RosterSnapshot unchanged = rosterCache.getCurrentSnapshot();
+        inFlight.complete(rosterResponse("John Doe", "Jane Doe").join());
+        RosterSnapshot refreshed = refresh.join();
+
+        assertSame(written, unchanged);
+        assertEquals(90000, refreshed.getSalaryIndex().getHighestSalary());
+        assertEquals(List.of("Joe Doe", "Jane Doe"), refreshed.getSalaryIndex().getTopEarnerNames(10));
+    }
+
+    @Test
+    void testRefreshRequestedBeforeADeleteDoesNotCacheTheDeletedEmployeeAgain() {
+        CompletableFuture<ResponseEntity<EmployeeResponse>> inFlight = new CompletableFuture<>();
+        when(employeeClient.getEmployees())
+                .thenReturn(rosterResponse("John Doe", "Jane Doe"))
+                .thenReturn(inFlight);
+        RosterCache rosterCache = newRosterCache();
+        rosterCache.getSnapshot().join();
+        assertNotNull(employeeCache.get("2"));
+
+        CompletableFuture<RosterSnapshot> refresh = rosterCache.refresh();
+        rosterCache.recordDeleted("2");
+        inFlight.complete(rosterResponse("John Doe", "Jane Doe").join());
+        RosterSnapshot refreshed = refresh.join();
+
+        assertNull(refreshed.findEmployee("2"));
+        assertNull(employeeCache.get("2"));
+        assertNotNull(employeeCache.get("1"));
+    }
+
+    @Test
+    void testRefreshedRosterIsSavedAndRestoredAsStaleUntilRefreshed(@TempDir Path directory) throws Exception {
+        properties.getRoster().setSnapshotFile(directory.resolve("roster.snapshot"));
+        CompletableFuture<ResponseEntity<EmployeeResponse>> revalidation = new CompletableFuture<>();
+        when(employeeClient.getEmployees())
+                .thenReturn(rosterResponse("John Doe", "Jane Doe"))
+                .thenReturn(revalidation);
+        RosterCache first = newRosterCache();
+        first.getSnapshot().join();
+        first.flushSnapshotFile().join();
+
+        RosterCache restarted = newRosterCache();
+        RosterSnapshot restored = restarted.getCurrentSnapshot();
+        RosterSnapshot served = restarted.getSnapshot().join();
+        revalidation.complete(rosterResponse("John Doe").join());
+        RosterSnapshot refreshed = restarted.getSnapshot().join();
+        restarted.flushSnapshotFile().join();
+        RosterSnapshotFile saved = new RosterSnapshotFile(directory.resolve("roster.snapshot"));
+
+        assertTrue(restored.isRestored());
+        assertSame(restored, served);
+        assertEquals(List.of("John Doe", "Jane Doe"), restored.getEmployees().stream().map(Employee::getEmployee_name).collect(Collectors.toList()));
+        assertFalse(refreshed.isRestored());
+        assertEquals(1, refreshed.getEmployees().size());
+        assertEquals(1, saved.read().getEmployees().size());
+        verify(employeeClient, times(2)).getEmployees();
+    }
+
+    @Test
+    void testOlderRosterIsNeverSavedOverANewerOne(@TempDir Path directory) throws Exception {
+        properties.getRoster().setSnapshotFile(directory.resolve("roster.snapshot"));
+        RosterCache rosterCache = newRosterCache();
+        List<Employee> newer = rosterResponse("John Doe").join().getBody().getData();
+        List<Employee> older = rosterResponse("John Doe", "Jane Doe").join().getBody().getData();
+
+        rosterCache.persist(new RosterSnapshot(2, newer, System.nanoTime()));
+        rosterCache.persist(new RosterSnapshot(1, older, System.nanoTime()));
+        rosterCache.flushSnapshotFile().join();
+
+        assertEquals(List.of("John Doe"), new RosterSnapshotFile(directory.resolve("roster.snapshot")).read().getEmployees().stream()
+                .map(Employee::getEmployee_name).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testUnreadableSnapshotFileFallsBackToUpstream(@TempDir Path directory) throws Exception {
+        Path snapshotFile = directory.resolve("roster.snapshot");
+        Files.write(snapshotFile, new byte[]{1, 2, 3});
+        properties.getRoster().setSnapshotFile(snapshotFile);
+        when(employeeClient.getEmployees()).thenReturn(rosterResponse("John Doe"));
+
+        RosterCache rosterCache = newRosterCache();
+
+        assertNull(rosterCache.getCurrentSnapshot());
+        assertFalse(rosterCache.getSnapshot().join().isRestored());
+        rosterCache.flushSnapshotFile().join();
+        assertEquals(1, new RosterSnapshotFile(snapshotFile).read().getEmployees().size());
+    }
+
+    private RosterCache newRosterCache() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        employeeCache = new EmployeeCache(properties, meterRegistry);
+        return new RosterCache(employeeClient, employeeCache, properties, meterRegistry);
+    }
+
+    private static CompletableFuture<ResponseEntity<EmployeeResponse>> rosterResponse(String... names) {
+        EmployeeResponse response = new EmployeeResponse();
+        response.setStatus("success");
+        Employee[] employees = new Employee[names.length];
+        for (int i = 0; i < names.length; i++) {
+            employees[i] = new Employee(String.valueOf(i + 1), names[i], "50000", "30", "");
+        }
+        response.setData(List.of(employees));
+        return CompletableFuture.completedFuture(new ResponseEntity<>(response, HttpStatus.OK));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.rqchallenge.employees.roster;
+
+import com.example.rqchallenge.employees.model.Employee;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRosterSurvivesRoundTrip() throws IOException {
+        RosterSnapshotFile file = new RosterSnapshotFile(directory.resolve("nested/roster.snapshot"));
+        List<Employee> employees = List.of(
+                new Employee("1", "Jürgen Größe", "50000", "30", ""),
+                new Employee("2", null, "n/a", null, "http://example.com/jane.png"));
+        Instant savedAt = Instant.ofEpochMilli(1_700_000_000_000L);
+
+        file.write(employees, savedAt);
+        RosterSnapshotFile.Contents contents = file.read();
+
+        assertEquals(savedAt, contents.getSavedAt());
+        assertEquals(2, contents.getEmployees().size());
+        Employee first = contents.getEmployees().get(0);
+        Employee second = contents.getEmployees().get(1);
+        assertEquals("Jürgen Größe", first.getEmployee_name());
+        assertEquals("", first.getProfile_image());
+        assertNull(second.getEmployee_name());
+        assertNull(second.getEmployee_age());
+        assertEquals("n/a", second.getEmployee_salary());
+        assertEquals(new RosterSnapshot(1, employees, 0).getContentHash(), new RosterSnapshot(2, contents.getEmployees(), 0).getContentHash());
+    }
+
+    @Test
+    void testWriteReplacesPreviousRosterWithoutLeavingTemporaryFiles() throws IOException {
+        RosterSnapshotFile file = new RosterSnapshotFile(directory.resolve("roster.snapshot"));
+
+        file.write(List.of(new Employee("1", "John Doe", "50000", "30", "")), Instant.now());
+        file.write(List.of(), Instant.now());
+
+        assertTrue(file.read().getEmployees().isEmpty());
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testMissingFileReadsAsNoRoster() throws IOException {
+        assertNull(new RosterSnapshotFile(directory.resolve("absent.snapshot")).read());
+    }
+
+    @Test
+    void testCorruptedFileIsRejected() throws IOException {
+        Path path = directory.resolve("roster.snapshot");
+        RosterSnapshotFile file = new RosterSnapshotFile(path);
+        file.write(List.of(new Employee("1", "John Doe", "50000", "30", "")), Instant.now());
+        byte[] bytes = Files.readAllBytes(path);
+
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(path, bytes);
+        assertThrows(IOException.class, file::read);
+
+        Files.write(path, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, file::read);
+    }
+}
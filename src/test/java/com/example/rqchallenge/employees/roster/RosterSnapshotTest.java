@@ -0,0 +1,86 @@
+package com.example.rqchallenge.employees.roster;
+
+import com.example.rqchallenge.employees.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterSnapshotTest {
+
+    @Test
+    void testMalformedEmployeesAreQuarantinedFromRecords() {
+        RosterSnapshot snapshot = new RosterSnapshot(1, List.of(
+                new Employee("1", "John Doe", "50000", "30", ""),
+                new Employee("2", "Bad Salary", "n/a", "30", ""),
+                new Employee("3", "No Age", "70000", null, "")), System.nanoTime());
+
+        assertEquals(3, snapshot.getEmployees().size());
+        assertEquals(1, snapshot.getRecords().size());
+        assertEquals(2, snapshot.getQuarantinedCount());
+        assertEquals(50000, snapshot.getSalaryIndex().getHighestSalary());
+    }
+
+    @Test
+    void testWithEmployeeAndWithoutEmployeeCreateNewVersions() {
+        RosterSnapshot snapshot = new RosterSnapshot(1, List.of(new Employee("1", "John Doe", "50000", "30", "")), System.nanoTime());
+        snapshot.getSalaryIndex();
+
+        RosterSnapshot added = snapshot.withEmployee(2, new Employee("2", "Jane Doe", "60000", "25", ""));
+        RosterSnapshot removed = added.withoutEmployee(3, "1");
+
+        assertEquals(2, added.getVersion());
+        assertEquals(List.of("Jane Doe", "John Doe"), added.getSalaryIndex().getTopEarnerNames(10));
+        assertEquals(3, removed.getVersion());
+        assertEquals(List.of("Jane Doe"), removed.getSalaryIndex().getTopEarnerNames(10));
+        assertEquals(1, snapshot.getEmployees().size());
+    }
+
+    @Test
+    void testWithoutUnknownEmployeeKeepsSnapshot() {
+        RosterSnapshot snapshot = new RosterSnapshot(1, List.of(new Employee("1", "John Doe", "50000", "30", "")), System.nanoTime());
+
+        assertSame(snapshot, snapshot.withoutEmployee(2, "42"));
+    }
+
+    @Test
+    void testQuarantinedEmployeeCanStillBeAddedAndRemoved() {
+        RosterSnapshot snapshot = new RosterSnapshot(1, List.of(new Employee("1", "John Doe", "50000", "30", "")), System.nanoTime());
+
+        RosterSnapshot added = snapshot.withEmployee(2, new Employee("2", "Bad Salary", null, "25", ""));
+        RosterSnapshot removed = added.withoutEmployee(3, "2");
+
+        assertEquals(2, added.getEmployees().size());
+        assertEquals(1, added.getQuarantinedCount());
+        assertEquals(0, removed.getQuarantinedCount());
+        assertEquals(1, removed.getRecords().size());
+    }
+
+    @Test
+    void testFindEmployeeById() {
+        RosterSnapshot snapshot = new RosterSnapshot(1, List.of(
+                new Employee("1", "John Doe", "50000", "30", ""),
+                new Employee("2", "Jane Doe", "60000", "25", "")), System.nanoTime());
+
+        assertEquals("Jane Doe", snapshot.findEmployee("2").getEmployee_name());
+        assertNull(snapshot.findEmployee("3"));
+
+        RosterSnapshot removed = snapshot.withoutEmployee(2, "1");
+
+        assertNull(removed.findEmployee("1"));
+        assertEquals("Jane Doe", removed.findEmployee("2").getEmployee_name());
+        assertEquals("John Doe", snapshot.findEmployee("1").getEmployee_name());
+    }
+
+    @Test
+    void testContentHashFollowsContentNotVersion() {
+        List<Employee> employees = List.of(new Employee("1", "John Doe", "50000", "30", ""));
+        RosterSnapshot snapshot = new RosterSnapshot(1, employees, System.nanoTime());
+
+        assertEquals(snapshot.getContentHash(), new RosterSnapshot(7, List.of(new Employee("1", "John Doe", "50000", "30", "")), System.nanoTime()).getContentHash());
+        assertNotEquals(snapshot.getContentHash(), snapshot.withEmployee(2, new Employee("2", "Jane Doe", "60000", "25", "")).getContentHash());
+        assertNotEquals(snapshot.getContentHash(), new RosterSnapshot(2, List.of(new Employee("1", "John Doe", "50000", "30", null)), System.nanoTime()).getContentHash());
+        assertNotEquals(snapshot.getContentHash(), new RosterSnapshot(2, List.of(new Employee("1", "John Do", "e50000", "30", "")), System.nanoTime()).getContentHash());
+    }
+}
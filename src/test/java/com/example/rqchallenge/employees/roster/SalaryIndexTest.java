@@ -0,0 +1,65 @@
+package com.example.rqchallenge.employees.roster;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeRecord;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryIndexTest {
+
+    @Test
+    void testBuildOrdersBySalaryDescendingKeepingRosterOrderForTies() {
+        SalaryIndex index = SalaryIndex.build(List.of(
+                employee("1", "Low", "100"),
+                employee("2", "High", "300"),
+                employee("3", "Tied first", "200"),
+                employee("4", "Tied second", "200")));
+
+        assertEquals(300, index.getHighestSalary());
+        assertEquals(List.of("High", "Tied first", "Tied second", "Low"), index.getTopEarnerNames(10));
+        assertEquals(List.of("High", "Tied first"), index.getTopEarnerNames(2));
+    }
+
+    @Test
+    void testEmptyRoster() {
+        SalaryIndex index = SalaryIndex.build(List.of());
+
+        assertEquals(0, index.getHighestSalary());
+        assertTrue(index.getTopEarnerNames(10).isEmpty());
+    }
+
+    @Test
+    void testIncrementalUpdatesMatchRebuild() {
+        List<EmployeeRecord> roster = new ArrayList<>(List.of(
+                employee("1", "A", "100"),
+                employee("2", "B", "300"),
+                employee("3", "C", "200")));
+        EmployeeRecord tied = employee("4", "D", "200");
+        EmployeeRecord top = employee("5", "E", "400");
+
+        SalaryIndex index = SalaryIndex.build(roster).withAdded(tied).withAdded(top);
+        roster.add(tied);
+        roster.add(top);
+        assertEquals(SalaryIndex.build(roster).getTopEarnerNames(10), index.getTopEarnerNames(10));
+
+        EmployeeRecord removed = roster.remove(2);
+        index = index.withRemoved(removed);
+        assertEquals(SalaryIndex.build(roster).getTopEarnerNames(10), index.getTopEarnerNames(10));
+        assertEquals(400, index.getHighestSalary());
+    }
+
+    @Test
+    void testRemovingUnknownEmployeeIsNoOp() {
+        SalaryIndex index = SalaryIndex.build(List.of(employee("1", "A", "100")));
+
+        assertSame(index, index.withRemoved(employee("2", "B", "100")));
+    }
+
+    private static EmployeeRecord employee(String id, String name, String salary) {
+        return EmployeeRecord.from(new Employee(id, name, salary, "30", ""));
+    }
+}
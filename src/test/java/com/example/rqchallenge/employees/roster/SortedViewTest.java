@@ -0,0 +1,61 @@
+package com.example.rqchallenge.employees.roster;
+
+import com.example.rqchallenge.employees.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedViewTest {
+
+    private final RosterSnapshot snapshot = new RosterSnapshot(1, List.of(
+            new Employee("1", "tiger Nixon", "320800", "61", ""),
+            new Employee("2", "Garrett Winters", "170750", "63", ""),
+            new Employee("3", "Bad Salary", "n/a", "30", ""),
+            new Employee("4", "Ashton Cox", "86000", "66", ""),
+            new Employee("5", null, "170750", "22", ""),
+            new Employee("6", "Airi Satou", "162700", "33", "")), System.nanoTime());
+
+    @Test
+    void testSalaryOrderKeepsTiesInRosterOrderAndQuarantinedLast() {
+        assertEquals(List.of("4", "6", "2", "5", "1", "3"), ids(snapshot.getSortedView(SortKey.SALARY, false), 0, 6));
+        assertEquals(List.of("1", "2", "5", "6", "4", "3"), ids(snapshot.getSortedView(SortKey.SALARY, true), 0, 6));
+    }
+
+    @Test
+    void testNameOrderIgnoresCaseAndPutsUnnamedLast() {
+        assertEquals(List.of("6", "4", "3", "2", "1", "5"), ids(snapshot.getSortedView(SortKey.NAME, false), 0, 6));
+        assertEquals(List.of("1", "2", "3", "4", "6", "5"), ids(snapshot.getSortedView(SortKey.NAME, true), 0, 6));
+    }
+
+    @Test
+    void testSliceReturnsOnlyThePage() {
+        SortedView byAge = snapshot.getSortedView(SortKey.AGE, false);
+
+        assertEquals(List.of("1", "2"), ids(byAge, 2, 4));
+        assertEquals(6, byAge.size());
+        assertSame(byAge, snapshot.getSortedView(SortKey.AGE, false));
+    }
+
+    @Test
+    void testSortPutsPositionsInViewOrder() {
+        SortedView bySalary = snapshot.getSortedView(SortKey.SALARY, true);
+
+        assertArrayEquals(new int[]{0, 5, 3, 2}, bySalary.sort(new int[]{0, 2, 3, 5}));
+        assertArrayEquals(new int[0], bySalary.sort(new int[0]));
+    }
+
+    @Test
+    void testViewsFollowLocalChanges() {
+        RosterSnapshot changed = snapshot.withEmployee(2, new Employee("7", "Zed", "999999", "18", "")).withoutEmployee(3, "1");
+
+        assertEquals(List.of("7", "2", "5"), ids(changed.getSortedView(SortKey.SALARY, true), 0, 3));
+        assertEquals(List.of("7", "5", "6"), ids(changed.getSortedView(SortKey.AGE, false), 0, 3));
+    }
+
+    private static List<String> ids(SortedView view, int from, int to) {
+        return view.slice(from, to).stream().map(Employee::getId).collect(Collectors.toList());
+    }
+}
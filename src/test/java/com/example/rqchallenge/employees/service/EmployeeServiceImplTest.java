@@ -1,25 +1,50 @@
 package com.example.rqchallenge.employees.service;
 
+import com.example.rqchallenge.config.EmployeeProperties;
+import com.example.rqchallenge.employees.model.BatchItemResult;
 import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeAnalytics;
+import com.example.rqchallenge.employees.model.EmployeeQuery;
 import com.example.rqchallenge.employees.model.EmployeeResponse;
 import com.example.rqchallenge.employees.model.EmployeeResponseSingle;
+import com.example.rqchallenge.employees.model.EmployeesByIdsResponse;
+import com.example.rqchallenge.employees.roster.EmployeeCache;
+import com.example.rqchallenge.employees.roster.RosterCache;
+import com.example.rqchallenge.employees.upstream.BulkheadFullException;
+import com.example.rqchallenge.employees.upstream.EmployeeClient;
+import com.example.rqchallenge.employees.upstream.ResilientEmployeeClient;
+import com.example.rqchallenge.employees.upstream.RestTemplateEmployeeClient;
+import com.example.rqchallenge.employees.upstream.UpstreamException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentMatchers;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class EmployeeServiceImplTest {
@@ -27,12 +52,12 @@ class EmployeeServiceImplTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
     private EmployeeServiceImpl employeeService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        employeeService = newEmployeeService(new EmployeeProperties(), new SimpleMeterRegistry());
     }
 
     @Test
@@ -99,6 +124,23 @@ class EmployeeServiceImplTest {
         assertEquals(100000, response.getBody());
     }
 
+    @Test
+    void testGetHighestSalaryOfEmployeesSkipsMalformedSalaries() {
+        EmployeeResponse mockResponse = new EmployeeResponse();
+        mockResponse.setStatus("success");
+        mockResponse.setData(List.of(
+                new Employee("1", "John Doe", "100000", "30", ""),
+                new Employee("2", "Jane Doe", "not a number", "30", "")));
+
+        when(restTemplate.getForEntity("https://dummy.restapiexample.com/api/v1/employees", EmployeeResponse.class))
+                .thenReturn(new ResponseEntity<>(mockResponse, HttpStatus.OK));
+
+        ResponseEntity<Integer> response = employeeService.getHighestSalaryOfEmployees().join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(100000, response.getBody());
+    }
+
     @Test
     void testGetTopTenHighestEarningEmployeeNames() {
         EmployeeResponse mockResponse = new EmployeeResponse();
@@ -137,6 +179,94 @@ class EmployeeServiceImplTest {
         assertEquals("success", response.getBody());
     }
 
+    @Test
+    void testCreateEmployeeIsVisibleInCachedRoster() {
+        EmployeeResponse mockRoster = new EmployeeResponse();
+        mockRoster.setStatus("success");
+        mockRoster.setData(List.of(new Employee("1", "John Doe", "100000", "30", "")));
+        when(restTemplate.getForEntity("https://dummy.restapiexample.com/api/v1/employees", EmployeeResponse.class))
+                .thenReturn(new ResponseEntity<>(mockRoster, HttpStatus.OK));
+
+        Map<String, Object> mockResponseBody = Map.of("status", "success",
+                "data", Map.of("name", "Jane Doe", "salary", "200000", "age", "25", "id", 25));
+        when(restTemplate.exchange(
+                ArgumentMatchers.eq("https://dummy.restapiexample.com/api/v1/create"),
+                ArgumentMatchers.eq(HttpMethod.POST),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any())
+        ).thenReturn(new ResponseEntity<>(mockResponseBody, HttpStatus.OK));
+
+        employeeService.getAllEmployees().join();
+        employeeService.createEmployee(Map.of("name", "Jane Doe", "salary", "200000", "age", "25")).join();
+
+        assertEquals(200000, employeeService.getHighestSalaryOfEmployees().join().getBody());
+        assertEquals(List.of("Jane Doe", "John Doe"), employeeService.getTopTenHighestEarningEmployeeNames().join().getBody());
+    }
+
+    @Test
+    void testReadsCarryRosterETagThatChangesWithTheRoster() {
+        EmployeeResponse mockRoster = new EmployeeResponse();
+        mockRoster.setStatus("success");
+        mockRoster.setData(List.of(new Employee("1", "John Doe", "100000", "30", "")));
+        when(restTemplate.getForEntity("https://dummy.restapiexample.com/api/v1/employees", EmployeeResponse.class))
+                .thenReturn(new ResponseEntity<>(mockRoster, HttpStatus.OK));
+        when(restTemplate.exchange(
+                ArgumentMatchers.eq("https://dummy.restapiexample.com/api/v1/create"),
+                ArgumentMatchers.eq(HttpMethod.POST),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any())
+        ).thenReturn(new ResponseEntity<>(Map.of("status", "success", "data", Map.of("name", "Jane Doe", "id", 25)), HttpStatus.OK));
+
+        String etag = employeeService.getEmployees(new EmployeeQuery()).join().getHeaders().getETag();
+
+        assertTrue(etag.matches("\"[0-9a-f]{16}\""));
+        assertEquals(etag, employeeService.getHighestSalaryOfEmployees().join().getHeaders().getETag());
+        assertEquals(etag, employeeService.getEmployeesByNameSearch("John").join().getHeaders().getETag());
+        employeeService.createEmployee(Map.of("name", "Jane Doe")).join();
+        assertNotEquals(etag, employeeService.getTopTenHighestEarningEmployeeNames().join().getHeaders().getETag());
+    }
+
+    @Test
+    void testRestoredRosterIsServedAsStaleWhileUpstreamIsDown(@TempDir Path directory) throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeProperties properties = new EmployeeProperties();
+        properties.getRoster().setSnapshotFile(directory.resolve("roster.snapshot"));
+        EmployeeResponse mockRoster = new EmployeeResponse();
+        mockRoster.setStatus("success");
+        mockRoster.setData(List.of(new Employee("1", "John Doe", "100000", "30", "")));
+        when(restTemplate.getForEntity("https://dummy.restapiexample.com/api/v1/employees", EmployeeResponse.class))
+                .thenReturn(new ResponseEntity<>(mockRoster, HttpStatus.OK))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+        EmployeeClient employeeClient = new ResilientEmployeeClient(new RestTemplateEmployeeClient(restTemplate, properties, meterRegistry), properties, meterRegistry);
+        EmployeeCache employeeCache = new EmployeeCache(properties, meterRegistry);
+        RosterCache rosterCache = new RosterCache(employeeClient, employeeCache, properties, meterRegistry);
+        new EmployeeServiceImpl(employeeClient, rosterCache, employeeCache, properties, meterRegistry).getAllEmployees().join();
+        rosterCache.flushSnapshotFile().join();
+
+        ResponseEntity<Integer> response = newEmployeeService(properties, meterRegistry).getHighestSalaryOfEmployees().join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(100000, response.getBody());
+        assertEquals("110 - \"Response is Stale\"", response.getHeaders().getFirst(HttpHeaders.WARNING));
+    }
+
+    @Test
+    void testEmployeeAnalyticsAreComputedOncePerRoster() {
+        EmployeeResponse mockRoster = new EmployeeResponse();
+        mockRoster.setStatus("success");
+        mockRoster.setData(List.of(new Employee("1", "John Doe", "100000", "30", ""), new Employee("2", "Jane Doe", "50000", "25", "")));
+        when(restTemplate.getForEntity("https://dummy.restapiexample.com/api/v1/employees", EmployeeResponse.class))
+                .thenReturn(new ResponseEntity<>(mockRoster, HttpStatus.OK));
+
+        ResponseEntity<EmployeeAnalytics> response = employeeService.getEmployeeAnalytics().join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().getEmployeeCount());
+        assertEquals(75000.0, response.getBody().getSalary().getMedian());
+        assertEquals(employeeService.getAllEmployees().join().getHeaders().getETag(), response.getHeaders().getETag());
+        assertSame(response.getBody(), employeeService.getEmployeeAnalytics().join().getBody());
+    }
+
     @Test
     void testDeleteEmployeeById() {
         Map<String, Object> mockResponseBody = Map.of("status", "success");
@@ -155,4 +285,293 @@ class EmployeeServiceImplTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Employee with id 1 has been successfully deleted.", response.getBody());
     }
+
+    @Test
+    void testShedCallReturnsServiceUnavailableWithRetryAfter() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeClient saturatedClient = mock(EmployeeClient.class);
+        when(saturatedClient.deleteEmployee("1"))
+                .thenReturn(CompletableFuture.failedFuture(new BulkheadFullException("write", Duration.ofSeconds(2))));
+        EmployeeProperties properties = new EmployeeProperties();
+        EmployeeCache employeeCache = new EmployeeCache(properties, meterRegistry);
+        EmployeeServiceImpl service = new EmployeeServiceImpl(saturatedClient, new RosterCache(saturatedClient, employeeCache, properties, meterRegistry), employeeCache, properties, meterRegistry);
+
+        ResponseEntity<String> response = service.deleteEmployeeById("1").join();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("Failed to delete employee.", response.getBody());
+    }
+
+    @Test
+    void testSubSecondRetryAfterIsRoundedUpToOneSecond() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeClient saturatedClient = mock(EmployeeClient.class);
+        when(saturatedClient.createEmployee(ArgumentMatchers.any()))
+                .thenReturn(CompletableFuture.failedFuture(new BulkheadFullException("write", Duration.ofMillis(200))));
+        EmployeeProperties properties = new EmployeeProperties();
+        EmployeeCache employeeCache = new EmployeeCache(properties, meterRegistry);
+        EmployeeServiceImpl service = new EmployeeServiceImpl(saturatedClient, new RosterCache(saturatedClient, employeeCache, properties, meterRegistry), employeeCache, properties, meterRegistry);
+
+        ResponseEntity<String> response = service.createEmployee(Map.of("name", "John Doe")).join();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testWritesBeyondOutboundRateLimitAreShedWithRetryAfter() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeProperties properties = new EmployeeProperties();
+        properties.getRateLimit().setRate(1);
+        properties.getRateLimit().setBurst(1);
+        properties.getRateLimit().setMaxWait(Duration.ofMillis(100));
+        EmployeeServiceImpl service = newEmployeeService(properties, meterRegistry);
+        when(restTemplate.exchange(
+                ArgumentMatchers.eq("https://dummy.restapiexample.com/api/v1/create"),
+                ArgumentMatchers.eq(HttpMethod.POST),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any())
+        ).thenReturn(new ResponseEntity<>(Map.of("status", "success"), HttpStatus.OK));
+
+        ResponseEntity<String> first = service.createEmployee(Map.of("name", "John Doe")).join();
+        ResponseEntity<String> second = service.createEmployee(Map.of("name", "Jane Doe")).join();
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, second.getStatusCode());
+        assertEquals("1", second.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, meterRegistry.get("employees.ratelimit.rejected").tag("priority", "write").counter().count());
+    }
+
+    @Test
+    void testLookupPastBudgetIsServedFromRosterSnapshot() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeProperties properties = new EmployeeProperties();
+        properties.getLookup().setBudget(Duration.ofMillis(50));
+        properties.getCache().setTtl(Duration.ZERO);
+        Employee employee = new Employee("1", "Tiger Nixon", "320800", "61", "");
+        EmployeeResponse roster = new EmployeeResponse();
+        roster.setStatus("success");
+        roster.setData(List.of(employee));
+        EmployeeClient slowClient = mock(EmployeeClient.class);
+        when(slowClient.getEmployees()).thenReturn(CompletableFuture.completedFuture(new ResponseEntity<>(roster, HttpStatus.OK)));
+        when(slowClient.getEmployee(ArgumentMatchers.anyString())).thenReturn(new CompletableFuture<>());
+        EmployeeCache employeeCache = new EmployeeCache(properties, meterRegistry);
+        RosterCache rosterCache = new RosterCache(slowClient, employeeCache, properties, meterRegistry);
+        EmployeeServiceImpl service = new EmployeeServiceImpl(slowClient, rosterCache, employeeCache, properties, meterRegistry);
+        rosterCache.refresh().join();
+
+        ResponseEntity<Employee> cached = service.getEmployeeById("1").join();
+        ResponseEntity<Employee> unknown = service.getEmployeeById("2").join();
+
+        assertEquals(HttpStatus.OK, cached.getStatusCode());
+        assertEquals(employee, cached.getBody());
+        assertEquals("110 - \"Response is Stale\"", cached.getHeaders().getFirst(HttpHeaders.WARNING));
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, unknown.getStatusCode());
+    }
+
+    @Test
+    void testLookupFailingUpstreamIsServedFromRosterSnapshot() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeProperties properties = new EmployeeProperties();
+        properties.getCache().setTtl(Duration.ZERO);
+        Employee employee = new Employee("1", "Tiger Nixon", "320800", "61", "");
+        EmployeeResponse roster = new EmployeeResponse();
+        roster.setStatus("success");
+        roster.setData(List.of(employee));
+        EmployeeClient failingClient = mock(EmployeeClient.class);
+        when(failingClient.getEmployees()).thenReturn(CompletableFuture.completedFuture(new ResponseEntity<>(roster, HttpStatus.OK)));
+        when(failingClient.getEmployee("1")).thenReturn(CompletableFuture.failedFuture(new UpstreamException(HttpStatus.TOO_MANY_REQUESTS, "throttled")));
+        when(failingClient.getEmployee("2")).thenReturn(CompletableFuture.failedFuture(new UpstreamException(HttpStatus.NOT_FOUND, "missing")));
+        EmployeeCache employeeCache = new EmployeeCache(properties, meterRegistry);
+        RosterCache rosterCache = new RosterCache(failingClient, employeeCache, properties, meterRegistry);
+        EmployeeServiceImpl service = new EmployeeServiceImpl(failingClient, rosterCache, employeeCache, properties, meterRegistry);
+        rosterCache.refresh().join();
+
+        ResponseEntity<Employee> cached = service.getEmployeeById("1").join();
+        ResponseEntity<Employee> missing = service.getEmployeeById("2").join();
+
+        assertEquals(HttpStatus.OK, cached.getStatusCode());
+        assertEquals(employee, cached.getBody());
+        assertEquals(HttpStatus.NOT_FOUND, missing.getStatusCode());
+    }
+
+    @Test
+    void testLookupIsServedFromEmployeeCacheUntilDeleted() {
+        EmployeeResponse roster = new EmployeeResponse();
+        roster.setStatus("success");
+        roster.setData(List.of(new Employee("1", "Tiger Nixon", "320800", "61", "")));
+        when(restTemplate.getForEntity("https://dummy.restapiexample.com/api/v1/employees", EmployeeResponse.class))
+                .thenReturn(new ResponseEntity<>(roster, HttpStatus.OK));
+        when(restTemplate.exchange(
+                ArgumentMatchers.eq("https://dummy.restapiexample.com/api/v1/delete/1"),
+                ArgumentMatchers.eq(HttpMethod.DELETE),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any())
+        ).thenReturn(new ResponseEntity<>(Map.of("status", "success"), HttpStatus.OK));
+        when(restTemplate.getForEntity("https://dummy.restapiexample.com/api/v1/employee/1", EmployeeResponseSingle.class))
+                .thenReturn(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        employeeService.getAllEmployees().join();
+
+        ResponseEntity<Employee> cached = employeeService.getEmployeeById("1").join();
+        employeeService.deleteEmployeeById("1").join();
+        ResponseEntity<Employee> afterDelete = employeeService.getEmployeeById("1").join();
+
+        assertEquals("Tiger Nixon", cached.getBody().getEmployee_name());
+        verify(restTemplate).getForEntity("https://dummy.restapiexample.com/api/v1/employee/1", EmployeeResponseSingle.class);
+        assertEquals(HttpStatus.NOT_FOUND, afterDelete.getStatusCode());
+    }
+
+    @Test
+    void testCreateEmployeesReportsEachItem() {
+        when(restTemplate.exchange(
+                ArgumentMatchers.eq("https://dummy.restapiexample.com/api/v1/create"),
+                ArgumentMatchers.eq(HttpMethod.POST),
+                ArgumentMatchers.argThat(entity -> entity != null && "ok".equals(((Map<?, ?>) entity.getBody()).get("name"))),
+                ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any())
+        ).thenReturn(new ResponseEntity<>(Map.of("status", "success", "data", Map.of("name", "ok", "id", 7)), HttpStatus.OK));
+        when(restTemplate.exchange(
+                ArgumentMatchers.eq("https://dummy.restapiexample.com/api/v1/create"),
+                ArgumentMatchers.eq(HttpMethod.POST),
+                ArgumentMatchers.argThat(entity -> entity != null && "bad".equals(((Map<?, ?>) entity.getBody()).get("name"))),
+                ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any())
+        ).thenReturn(new ResponseEntity<>(Map.of("status", "failure"), HttpStatus.OK));
+
+        ResponseEntity<List<BatchItemResult>> response = employeeService.createEmployees(List.of(Map.of("name", "ok"), Map.of("name", "bad"))).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<BatchItemResult> results = response.getBody();
+        assertEquals(2, results.size());
+        assertEquals("success", results.get(0).getStatus());
+        assertEquals("7", results.get(0).getId());
+        assertEquals("failed", results.get(1).getStatus());
+        assertEquals(1, results.get(1).getIndex());
+    }
+
+    @Test
+    void testDeleteEmployeesByIdsReportsEachItem() {
+        when(restTemplate.exchange(
+                ArgumentMatchers.eq("https://dummy.restapiexample.com/api/v1/delete/1"),
+                ArgumentMatchers.eq(HttpMethod.DELETE),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any())
+        ).thenReturn(new ResponseEntity<>(Map.of("status", "success"), HttpStatus.OK));
+        when(restTemplate.exchange(
+                ArgumentMatchers.eq("https://dummy.restapiexample.com/api/v1/delete/2"),
+                ArgumentMatchers.eq(HttpMethod.DELETE),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any())
+        ).thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        List<BatchItemResult> results = employeeService.deleteEmployeesByIds(List.of("1", "2")).join().getBody();
+
+        assertEquals("success", results.get(0).getStatus());
+        assertEquals("1", results.get(0).getId());
+        assertEquals("failed", results.get(1).getStatus());
+        assertEquals("2", results.get(1).getId());
+        assertTrue(results.get(1).getReason().startsWith("404"), results.get(1).getReason());
+    }
+
+    @Test
+    void testOversizedBatchIsRejected() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeProperties properties = new EmployeeProperties();
+        properties.getBatch().setMaxItems(1);
+        EmployeeClient employeeClient = mock(EmployeeClient.class);
+        EmployeeCache employeeCache = new EmployeeCache(properties, meterRegistry);
+        EmployeeServiceImpl service = new EmployeeServiceImpl(employeeClient, new RosterCache(employeeClient, employeeCache, properties, meterRegistry), employeeCache, properties, meterRegistry);
+
+        ResponseEntity<List<BatchItemResult>> response = service.deleteEmployeesByIds(List.of("1", "2")).join();
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, response.getStatusCode());
+    }
+
+    @Test
+    void testGetEmployeesByIdsResolvesFromSnapshotAndLooksUpMisses() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeProperties properties = new EmployeeProperties();
+        EmployeeResponse roster = new EmployeeResponse();
+        roster.setStatus("success");
+        roster.setData(List.of(new Employee("1", "John Doe", "50000", "30", ""), new Employee("2", "Jane Doe", "60000", "25", "")));
+        EmployeeResponseSingle hired = new EmployeeResponseSingle();
+        hired.setStatus("success");
+        hired.setData(new Employee("9", "New Hire", "40000", "22", ""));
+        EmployeeClient employeeClient = mock(EmployeeClient.class);
+        when(employeeClient.getEmployees()).thenReturn(CompletableFuture.completedFuture(new ResponseEntity<>(roster, HttpStatus.OK)));
+        when(employeeClient.getEmployee("9")).thenReturn(CompletableFuture.completedFuture(new ResponseEntity<>(hired, HttpStatus.OK)));
+        when(employeeClient.getEmployee("8")).thenReturn(CompletableFuture.failedFuture(new UpstreamException(HttpStatus.NOT_FOUND, "missing")));
+        when(employeeClient.getEmployee("7")).thenReturn(CompletableFuture.failedFuture(new UpstreamException(HttpStatus.SERVICE_UNAVAILABLE, "down")));
+        EmployeeCache employeeCache = new EmployeeCache(properties, meterRegistry);
+        EmployeeServiceImpl service = new EmployeeServiceImpl(employeeClient, new RosterCache(employeeClient, employeeCache, properties, meterRegistry), employeeCache, properties, meterRegistry);
+
+        ResponseEntity<EmployeesByIdsResponse> response = service.getEmployeesByIds(List.of("2", "9", "8", "1", "7", "2")).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        EmployeesByIdsResponse body = response.getBody();
+        assertEquals(List.of("Jane Doe", "New Hire", "John Doe"), body.getEmployees().stream().map(Employee::getEmployee_name).collect(Collectors.toList()));
+        assertEquals(List.of("8"), body.getNotFound());
+        assertEquals(List.of("7"), body.getFailed());
+        verify(employeeClient, never()).getEmployee("1");
+        verify(employeeClient, never()).getEmployee("2");
+    }
+
+    @Test
+    void testGetEmployeesReturnsSortedPageWithTotalCount() {
+        EmployeeResponse roster = new EmployeeResponse();
+        roster.setStatus("success");
+        roster.setData(List.of(
+                new Employee("1", "John Doe", "50000", "30", ""),
+                new Employee("2", "Jane Doe", "70000", "25", ""),
+                new Employee("3", "Jim Beam", "n/a", "40", ""),
+                new Employee("4", "Jack Daniels", "60000", "35", "")));
+        when(restTemplate.getForEntity("https://dummy.restapiexample.com/api/v1/employees", EmployeeResponse.class))
+                .thenReturn(new ResponseEntity<>(roster, HttpStatus.OK));
+        EmployeeQuery query = new EmployeeQuery();
+        query.setSort("salary,desc");
+        query.setPage(1);
+        query.setSize(2);
+
+        ResponseEntity<List<Employee>> response = employeeService.getEmployees(query).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("4", response.getHeaders().getFirst("X-Total-Count"));
+        assertEquals(List.of("1", "3"), response.getBody().stream().map(Employee::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testGetEmployeesByNameSearchSortsMatchesByName() {
+        EmployeeResponse roster = new EmployeeResponse();
+        roster.setStatus("success");
+        roster.setData(List.of(
+                new Employee("1", "John Doe", "50000", "30", ""),
+                new Employee("2", "Jim Beam", "70000", "25", ""),
+                new Employee("3", "Jane Doe", "60000", "35", "")));
+        when(restTemplate.getForEntity("https://dummy.restapiexample.com/api/v1/employees", EmployeeResponse.class))
+                .thenReturn(new ResponseEntity<>(roster, HttpStatus.OK));
+        EmployeeQuery query = new EmployeeQuery();
+        query.setSort("name");
+
+        ResponseEntity<List<Employee>> response = employeeService.getEmployeesByNameSearch("doe", query).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of("Jane Doe", "John Doe"), response.getBody().stream().map(Employee::getEmployee_name).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testInvalidQueryIsRejectedWithoutLoadingTheRoster() {
+        EmployeeQuery unknownSort = new EmployeeQuery();
+        unknownSort.setSort("height");
+        EmployeeQuery oversizedPage = new EmployeeQuery();
+        oversizedPage.setSize(1_000_000);
+
+        assertEquals(HttpStatus.BAD_REQUEST, employeeService.getEmployees(unknownSort).join().getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, employeeService.getEmployeesByNameSearch("doe", oversizedPage).join().getStatusCode());
+        verify(restTemplate, never()).getForEntity("https://dummy.restapiexample.com/api/v1/employees", EmployeeResponse.class);
+    }
+
+    private EmployeeServiceImpl newEmployeeService(EmployeeProperties properties, SimpleMeterRegistry meterRegistry) {
+        EmployeeClient employeeClient = new ResilientEmployeeClient(new RestTemplateEmployeeClient(restTemplate, properties, meterRegistry), properties, meterRegistry);
+        EmployeeCache employeeCache = new EmployeeCache(properties, meterRegistry);
+        return new EmployeeServiceImpl(employeeClient, new RosterCache(employeeClient, employeeCache, properties, meterRegistry), employeeCache, properties, meterRegistry);
+    }
 }
@@ -0,0 +1,66 @@
+package com.example.rqchallenge.employees.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FanOutTest {
+
+    @Test
+    void testResultsKeepItemOrderAndConcurrencyIsCapped() {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            items.add(i);
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        List<String> results = FanOut.run(items, 3, 0, (index, item) -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.supplyAsync(() -> {
+                inFlight.decrementAndGet();
+                return index + ":" + item;
+            }, CompletableFuture.delayedExecutor(5 - item % 5, TimeUnit.MILLISECONDS));
+        }).join();
+
+        assertEquals(20, results.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i + ":" + i, results.get(i));
+        }
+        assertTrue(maxInFlight.get() <= 3, String.valueOf(maxInFlight.get()));
+    }
+
+    @Test
+    void testStartsArePacedByRate() {
+        long started = System.nanoTime();
+
+        FanOut.run(List.of(1, 2, 3, 4, 5), 5, 100, (index, item) -> CompletableFuture.completedFuture(item)).join();
+
+        assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(40));
+    }
+
+    @Test
+    void testThousandsOfSynchronouslyCompletedCallsDoNotRecurse() {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            items.add(i);
+        }
+
+        List<Integer> results = FanOut.run(items, 2, 0, (index, item) -> CompletableFuture.completedFuture(item))
+                .orTimeout(10, TimeUnit.SECONDS)
+                .join();
+
+        assertEquals(items, results);
+    }
+
+    @Test
+    void testEmptyBatch() {
+        assertTrue(FanOut.run(List.of(), 2, 10, (index, item) -> CompletableFuture.completedFuture(item)).join().isEmpty());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.rqchallenge.employees.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+class MeteredEmployeeServiceTest {
+
+    @Mock
+    private EmployeeService delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MeteredEmployeeService employeeService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        employeeService = new MeteredEmployeeService(delegate, meterRegistry);
+    }
+
+    @Test
+    void testTimesOperationsByStatusAndOutcome() {
+        ResponseEntity<Integer> highest = ResponseEntity.ok(100);
+        when(delegate.getHighestSalaryOfEmployees())
+                .thenReturn(CompletableFuture.completedFuture(highest))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.status(503).build()));
+
+        assertSame(highest, employeeService.getHighestSalaryOfEmployees().join());
+        employeeService.getHighestSalaryOfEmployees().join();
+
+        assertEquals(1, count("getHighestSalaryOfEmployees", "200", "SUCCESS"));
+        assertEquals(1, count("getHighestSalaryOfEmployees", "503", "SERVER_ERROR"));
+    }
+
+    @Test
+    void testTimerStopsOnlyWhenTheOperationCompletes() {
+        CompletableFuture<ResponseEntity<String>> pending = new CompletableFuture<>();
+        when(delegate.deleteEmployeeById("1")).thenReturn(pending);
+
+        CompletableFuture<ResponseEntity<String>> result = employeeService.deleteEmployeeById("1");
+        assertEquals(0, meterRegistry.find("employees.service.operations").timers().size());
+        pending.complete(ResponseEntity.notFound().build());
+
+        assertEquals(404, result.join().getStatusCodeValue());
+        assertEquals(1, count("deleteEmployeeById", "404", "CLIENT_ERROR"));
+    }
+
+    private long count(String operation, String status, String outcome) {
+        return meterRegistry.get("employees.service.operations")
+                .tags("operation", operation, "status", status, "outcome", outcome)
+                .timer()
+                .count();
+    }
+}
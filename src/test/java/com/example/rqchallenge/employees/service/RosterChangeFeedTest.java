@@ -0,0 +1,159 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.config.EmployeeProperties;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.RosterChange;
+import com.example.rqchallenge.employees.roster.RosterCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RosterChangeFeedTest {
+
+    @Mock
+    private RosterCache rosterCache;
+
+    private EmployeeProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RosterChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new EmployeeProperties();
+        properties.getChanges().setBufferSize(4);
+        meterRegistry = new SimpleMeterRegistry();
+        feed = new RosterChangeFeed(rosterCache, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.close();
+    }
+
+    @Test
+    void testNewSubscriberIsSyncedAndThenReceivesChangesInOrder() throws Exception {
+        RecordingEmitter subscriber = new RecordingEmitter();
+
+        feed.subscribe(subscriber, null);
+        feed.onChanges(List.of(change(RosterChange.Type.ADDED, "1"), change(RosterChange.Type.CHANGED, "2")));
+        subscriber.await(3);
+
+        assertEquals(List.of("sync", "added", "changed"), subscriber.names());
+        assertEquals(Map.of("reason", "subscribed"), subscriber.data(0));
+        assertEquals(List.of("0", "1", "2"), subscriber.sequences());
+        assertEquals("2", ((RosterChange) subscriber.data(2)).getId());
+        verify(rosterCache).addChangeListener(feed);
+        assertEquals(1, meterRegistry.get("employees.changes.published").tag("type", "added").counter().count());
+        assertEquals(1, meterRegistry.get("employees.changes.subscribers").gauge().value());
+    }
+
+    @Test
+    void testSubscriberResumingFromLastEventIdReceivesOnlyMissedChanges() throws Exception {
+        RecordingEmitter first = new RecordingEmitter();
+        feed.subscribe(first, null);
+        feed.onChanges(List.of(change(RosterChange.Type.ADDED, "1"), change(RosterChange.Type.REMOVED, "2")));
+        first.await(3);
+
+        RecordingEmitter resumed = new RecordingEmitter();
+        feed.subscribe(resumed, first.ids().get(1));
+        feed.onChanges(List.of(change(RosterChange.Type.ADDED, "3")));
+        resumed.await(2);
+
+        assertEquals(List.of("removed", "added"), resumed.names());
+        assertEquals(List.of("2", "3"), resumed.sequences());
+    }
+
+    @Test
+    void testUnknownOrEvictedEventIdsAreAskedToResync() throws Exception {
+        RecordingEmitter first = new RecordingEmitter();
+        feed.subscribe(first, null);
+        first.await(1);
+        String feedId = first.ids().get(0).substring(0, first.ids().get(0).lastIndexOf('-'));
+        for (int i = 1; i <= 5; i++) {
+            feed.onChanges(List.of(change(RosterChange.Type.ADDED, String.valueOf(i))));
+        }
+
+        RecordingEmitter expired = new RecordingEmitter();
+        feed.subscribe(expired, feedId + "-0");
+        RecordingEmitter foreign = new RecordingEmitter();
+        feed.subscribe(foreign, "other-1");
+        RecordingEmitter retained = new RecordingEmitter();
+        feed.subscribe(retained, feedId + "-1");
+        expired.await(1);
+        foreign.await(1);
+        retained.await(4);
+
+        assertEquals(List.of("sync"), expired.names());
+        assertEquals(Map.of("reason", "expired-event-id"), expired.data(0));
+        assertEquals(List.of("5"), expired.sequences());
+        assertEquals(Map.of("reason", "unknown-event-id"), foreign.data(0));
+        assertEquals(List.of("2", "3", "4", "5"), retained.sequences());
+    }
+
+    private static RosterChange change(RosterChange.Type type, String id) {
+        return new RosterChange(type, new Employee(id, "John Doe", "50000", "30", ""), 1);
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<Set<ResponseBodyEmitter.DataWithMediaType>> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder.build());
+        }
+
+        void await(int count) throws InterruptedException {
+            for (int i = 0; i < 200 && events.size() < count; i++) {
+                Thread.sleep(10);
+            }
+            assertEquals(count, events.size());
+        }
+
+        List<String> names() {
+            return field("event:");
+        }
+
+        List<String> ids() {
+            return field("id:");
+        }
+
+        List<String> sequences() {
+            return ids().stream().map(id -> id.substring(id.lastIndexOf('-') + 1)).collect(Collectors.toList());
+        }
+
+        Object data(int index) {
+            return events.get(index).stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .filter(data -> !(data instanceof String))
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        private List<String> field(String prefix) {
+            return events.stream()
+                    .map(event -> event.stream()
+                            .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                            .filter(String.class::isInstance)
+                            .map(String.class::cast)
+                            .collect(Collectors.joining()))
+                    .map(text -> text.lines().filter(line -> line.startsWith(prefix)).findFirst().orElseThrow().substring(prefix.length()))
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.rqchallenge.employees.upstream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Bulkhead bulkhead = new Bulkhead("test", 1, 1, Duration.ofSeconds(3), meterRegistry);
+
+    @Test
+    void testCallsBeyondLimitWaitInQueue() {
+        CompletableFuture<String> firstCall = new CompletableFuture<>();
+        AtomicInteger secondStarted = new AtomicInteger();
+
+        CompletableFuture<String> first = bulkhead.execute(() -> firstCall);
+        CompletableFuture<String> second = bulkhead.execute(() -> {
+            secondStarted.incrementAndGet();
+            return CompletableFuture.completedFuture("second");
+        });
+
+        assertEquals(1, bulkhead.getActiveCount());
+        assertEquals(1, bulkhead.getQueuedCount());
+        assertEquals(0, secondStarted.get());
+
+        firstCall.complete("first");
+
+        assertEquals("first", first.join());
+        assertEquals("second", second.join());
+        assertEquals(0, bulkhead.getActiveCount());
+        assertEquals(0, bulkhead.getQueuedCount());
+    }
+
+    @Test
+    void testCallsBeyondQueueAreShed() {
+        bulkhead.execute(CompletableFuture::new);
+        bulkhead.execute(CompletableFuture::new);
+
+        CompletableFuture<Object> shed = bulkhead.execute(CompletableFuture::new);
+
+        CompletionException error = assertThrows(CompletionException.class, shed::join);
+        assertTrue(error.getCause() instanceof BulkheadFullException);
+        assertEquals(Duration.ofSeconds(3), ((BulkheadFullException) error.getCause()).getRetryAfter());
+        assertEquals(1, bulkhead.getRejectedCount());
+        assertEquals(1.0, meterRegistry.get("employees.bulkhead.queued").tag("bulkhead", "test").gauge().value());
+    }
+
+    @Test
+    void testFailedCallReleasesSlot() {
+        CompletableFuture<String> failed = bulkhead.execute(() -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertThrows(CompletionException.class, failed::join);
+        assertEquals(0, bulkhead.getActiveCount());
+        assertEquals("next", bulkhead.execute(() -> CompletableFuture.completedFuture("next")).join());
+    }
+}
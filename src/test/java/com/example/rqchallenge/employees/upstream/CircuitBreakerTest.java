@@ -0,0 +1,87 @@
+package com.example.rqchallenge.employees.upstream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CircuitBreaker breaker = new CircuitBreaker("test", 2, Duration.ofMillis(50), meterRegistry);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void testOpensAfterConsecutiveFailuresAndFailsFast() {
+        fail(HttpStatus.SERVICE_UNAVAILABLE);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        fail(HttpStatus.TOO_MANY_REQUESTS);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        CompletionException error = assertThrows(CompletionException.class, () -> succeed().join());
+
+        assertTrue(error.getCause() instanceof CircuitOpenException);
+        assertTrue(((CircuitOpenException) error.getCause()).getRetryAfter().compareTo(Duration.ZERO) > 0);
+        assertEquals(2, calls.get());
+        assertEquals(1, breaker.getRejectedCount());
+    }
+
+    @Test
+    void testClientErrorsAndSuccessesResetTheFailureCount() {
+        fail(HttpStatus.BAD_GATEWAY);
+        fail(HttpStatus.NOT_FOUND);
+        fail(HttpStatus.BAD_GATEWAY);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(1, breaker.getConsecutiveFailures());
+    }
+
+    @Test
+    void testHalfOpenLetsOneProbeThroughAndClosesOnSuccess() throws InterruptedException {
+        fail(HttpStatus.SERVICE_UNAVAILABLE);
+        fail(HttpStatus.SERVICE_UNAVAILABLE);
+        Thread.sleep(60);
+
+        CompletableFuture<String> probe = new CompletableFuture<>();
+        CompletableFuture<String> probed = breaker.execute(() -> probe);
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertThrows(CompletionException.class, () -> succeed().join());
+
+        probe.complete("ok");
+
+        assertEquals("ok", probed.join());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals("ok", succeed().join());
+    }
+
+    @Test
+    void testFailedProbeReopensTheCircuit() throws InterruptedException {
+        fail(HttpStatus.SERVICE_UNAVAILABLE);
+        fail(HttpStatus.SERVICE_UNAVAILABLE);
+        Thread.sleep(60);
+
+        fail(HttpStatus.SERVICE_UNAVAILABLE);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(CompletionException.class, () -> succeed().join());
+    }
+
+    private void fail(HttpStatus status) {
+        CompletableFuture<String> result = breaker.execute(() -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(new UpstreamException(status, status.getReasonPhrase()));
+        });
+        assertThrows(CompletionException.class, result::join);
+    }
+
+    private CompletableFuture<String> succeed() {
+        return breaker.execute(() -> CompletableFuture.completedFuture("ok"));
+    }
+}
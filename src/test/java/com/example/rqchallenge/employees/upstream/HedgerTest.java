@@ -0,0 +1,92 @@
+package com.example.rqchallenge.employees.upstream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Hedger hedger = new Hedger("test", 0.95, Duration.ofMillis(20), meterRegistry);
+
+    @Test
+    void testFastAttemptIsNotHedged() throws InterruptedException {
+        List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+
+        String result = hedger.execute(() -> record(attempts, CompletableFuture.completedFuture("primary"))).join();
+        Thread.sleep(60);
+
+        assertEquals("primary", result);
+        assertEquals(1, attempts.size());
+        assertEquals(0, hedger.getHedgedCount());
+    }
+
+    @Test
+    void testSlowAttemptIsHedgedAndHedgeWins() {
+        List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+        CompletableFuture<String> slow = new CompletableFuture<>();
+
+        CompletableFuture<String> result = hedger.execute(() -> attempts.isEmpty()
+                ? record(attempts, slow)
+                : record(attempts, CompletableFuture.completedFuture("hedge")));
+
+        assertEquals("hedge", result.join());
+        assertEquals(2, attempts.size());
+        assertEquals(1, hedger.getHedgedCount());
+        assertEquals(1, hedger.getHedgeWinCount());
+
+        slow.complete("primary");
+        assertEquals("hedge", result.join());
+    }
+
+    @Test
+    void testHedgedCallFailsOnlyWhenBothAttemptsFail() {
+        List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<String> result = hedger.execute(() -> record(attempts, new CompletableFuture<>()));
+        while (attempts.size() < 2) {
+            Thread.onSpinWait();
+        }
+        attempts.get(0).completeExceptionally(new UpstreamException(HttpStatus.BAD_GATEWAY, "primary"));
+
+        assertFalse(result.isDone());
+
+        attempts.get(1).completeExceptionally(new UpstreamException(HttpStatus.TOO_MANY_REQUESTS, "hedge"));
+
+        CompletionException error = assertThrows(CompletionException.class, result::join);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ((UpstreamException) error.getCause()).getStatus());
+    }
+
+    @Test
+    void testFailureBeforeHedgeDelayFailsWithoutHedging() throws InterruptedException {
+        CompletableFuture<String> result = hedger.execute(() -> CompletableFuture.failedFuture(new UpstreamException(HttpStatus.NOT_FOUND, "missing")));
+        Thread.sleep(60);
+
+        assertThrows(CompletionException.class, result::join);
+        assertEquals(0, hedger.getHedgedCount());
+    }
+
+    @Test
+    void testHedgeDelayFollowsObservedLatencyOnceWarm() {
+        assertEquals(Duration.ofMillis(20), hedger.getHedgeDelay());
+
+        for (int i = 0; i < Hedger.MIN_SAMPLES; i++) {
+            hedger.execute(() -> CompletableFuture.completedFuture("fast")).join();
+        }
+
+        assertTrue(hedger.getHedgeDelay().compareTo(Duration.ofMillis(20)) < 0, hedger.getHedgeDelay().toString());
+    }
+
+    private static <T> CompletableFuture<T> record(List<CompletableFuture<T>> attempts, CompletableFuture<T> attempt) {
+        attempts.add(attempt);
+        return attempt;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.rqchallenge.employees.upstream;
+
+import com.example.rqchallenge.config.EmployeeProperties;
+import com.example.rqchallenge.employees.model.EmployeeResponse;
+import com.example.rqchallenge.employees.model.EmployeeResponseSingle;
+import com.example.rqchallenge.employees.model.SalaryLeaders;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpClientEmployeeClientTest {
+
+    private static final String ROSTER = "{\"status\":\"success\",\"data\":[{\"id\":\"1\",\"employee_name\":\"Tiger Nixon\",\"employee_salary\":\"320800\",\"employee_age\":\"61\",\"profile_image\":\"\"}]}";
+
+    private HttpServer server;
+    private HttpClientEmployeeClient client;
+    private final AtomicReference<String> lastRequestBody = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/employees", exchange -> {
+            boolean gzip = String.valueOf(exchange.getRequestHeaders().getFirst("Accept-Encoding")).contains("gzip");
+            respond(exchange, 200, ROSTER, gzip);
+        });
+        server.createContext("/employee/1", exchange -> respond(exchange, 200,
+                "{\"status\":\"success\",\"data\":{\"id\":\"1\",\"employee_name\":\"Tiger Nixon\",\"employee_salary\":\"320800\",\"employee_age\":\"61\",\"profile_image\":\"\"}}", false));
+        server.createContext("/employee/2", exchange -> respond(exchange, 429, "{\"message\":\"Too Many Requests\"}", false));
+        server.createContext("/create", exchange -> {
+            lastRequestBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            respond(exchange, 200, "{\"status\":\"success\",\"data\":{\"name\":\"test\",\"salary\":\"123\",\"age\":\"23\",\"id\":25}}", false);
+        });
+        server.createContext("/delete/1", exchange -> respond(exchange, 200, "{\"status\":\"success\",\"message\":\"successfully! deleted Record\"}", false));
+        server.start();
+
+        EmployeeProperties properties = new EmployeeProperties();
+        properties.getUpstream().setBaseUrl("http://localhost:" + server.getAddress().getPort());
+        client = new HttpClientEmployeeClient(new ObjectMapper(), properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testGetEmployeesDecodesGzippedBody() {
+        ResponseEntity<EmployeeResponse> response = client.getEmployees().join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Tiger Nixon", response.getBody().getData().get(0).getEmployee_name());
+    }
+
+    @Test
+    void testGetSalaryLeadersStreamsGzippedBody() {
+        SalaryLeaders leaders = client.getSalaryLeaders(10).join();
+
+        assertEquals(320800, leaders.getHighestSalary());
+        assertEquals(List.of("Tiger Nixon"), leaders.getTopEarnerNames());
+    }
+
+    @Test
+    void testGetEmployee() {
+        ResponseEntity<EmployeeResponseSingle> response = client.getEmployee("1").join();
+
+        assertEquals("320800", response.getBody().getData().getEmployee_salary());
+    }
+
+    @Test
+    void testErrorStatusFailsWithUpstreamException() {
+        CompletionException error = assertThrows(CompletionException.class, () -> client.getEmployee("2").join());
+
+        assertTrue(error.getCause() instanceof UpstreamException);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ((UpstreamException) error.getCause()).getStatus());
+    }
+
+    @Test
+    void testCreateEmployeePostsJson() {
+        ResponseEntity<Map<String, Object>> response = client.createEmployee(Map.of("name", "test")).join();
+
+        assertEquals("success", response.getBody().get("status"));
+        assertEquals("{\"name\":\"test\"}", lastRequestBody.get());
+    }
+
+    @Test
+    void testDeleteEmployee() {
+        ResponseEntity<Map<String, Object>> response = client.deleteEmployee("1").join();
+
+        assertEquals("success", response.getBody().get("status"));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body, boolean gzip) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        if (gzip) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(bytes);
+            }
+            bytes = compressed.toByteArray();
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.rqchallenge.employees.upstream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testCallsBeyondBurstWaitForTokens() {
+        RateLimiter rateLimiter = new RateLimiter(20, 2, Duration.ofSeconds(5), meterRegistry);
+
+        CompletableFuture<String> first = rateLimiter.execute(RateLimiter.Priority.LOOKUP, () -> CompletableFuture.completedFuture("first"));
+        CompletableFuture<String> second = rateLimiter.execute(RateLimiter.Priority.LOOKUP, () -> CompletableFuture.completedFuture("second"));
+        CompletableFuture<String> third = rateLimiter.execute(RateLimiter.Priority.LOOKUP, () -> CompletableFuture.completedFuture("third"));
+
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertFalse(third.isDone());
+        assertEquals(1, rateLimiter.getQueuedCount());
+        assertEquals("third", third.join());
+        assertEquals(1, rateLimiter.getThrottledCount(RateLimiter.Priority.LOOKUP));
+        assertEquals(0, rateLimiter.getQueuedCount());
+        assertTrue(meterRegistry.get("employees.ratelimit.wait").tag("priority", "lookup").timer().max(TimeUnit.MILLISECONDS) > 0);
+    }
+
+    @Test
+    void testWritesAndLookupsOvertakeQueuedRosterReads() {
+        RateLimiter rateLimiter = new RateLimiter(20, 1, Duration.ofSeconds(5), meterRegistry);
+        List<RateLimiter.Priority> started = new CopyOnWriteArrayList<>();
+        rateLimiter.execute(RateLimiter.Priority.ROSTER, () -> CompletableFuture.completedFuture("burst"));
+
+        CompletableFuture<?> roster = rateLimiter.execute(RateLimiter.Priority.ROSTER, () -> record(started, RateLimiter.Priority.ROSTER));
+        CompletableFuture<?> lookup = rateLimiter.execute(RateLimiter.Priority.LOOKUP, () -> record(started, RateLimiter.Priority.LOOKUP));
+        CompletableFuture<?> write = rateLimiter.execute(RateLimiter.Priority.WRITE, () -> record(started, RateLimiter.Priority.WRITE));
+        CompletableFuture.allOf(roster, lookup, write).join();
+
+        assertEquals(List.of(RateLimiter.Priority.WRITE, RateLimiter.Priority.LOOKUP, RateLimiter.Priority.ROSTER), started);
+    }
+
+    @Test
+    void testCallsThatCannotGetATokenWithinMaxWaitAreShed() {
+        RateLimiter rateLimiter = new RateLimiter(1, 1, Duration.ofMillis(100), meterRegistry);
+        rateLimiter.execute(RateLimiter.Priority.WRITE, () -> CompletableFuture.completedFuture("burst"));
+
+        CompletableFuture<String> shed = rateLimiter.execute(RateLimiter.Priority.WRITE, () -> CompletableFuture.completedFuture("shed"));
+
+        CompletionException error = assertThrows(CompletionException.class, shed::join);
+        assertTrue(error.getCause() instanceof RateLimitedException);
+        assertEquals(Duration.ofSeconds(1), ((RateLimitedException) error.getCause()).getRetryAfter());
+        assertEquals(1, meterRegistry.get("employees.ratelimit.rejected").tag("priority", "write").counter().count());
+        assertFalse(UpstreamFailures.isFailure(error));
+        assertTrue(UpstreamFailures.isUnavailable(error));
+    }
+
+    @Test
+    void testThrottledUpstreamEmptiesTheBucket() {
+        RateLimiter rateLimiter = new RateLimiter(1, 5, Duration.ofMillis(100), meterRegistry);
+
+        CompletableFuture<Object> throttled = rateLimiter.execute(RateLimiter.Priority.ROSTER,
+                () -> CompletableFuture.failedFuture(new UpstreamException(HttpStatus.TOO_MANY_REQUESTS, "slow down")));
+        CompletableFuture<String> next = rateLimiter.execute(RateLimiter.Priority.ROSTER, () -> CompletableFuture.completedFuture("next"));
+
+        assertTrue(assertThrows(CompletionException.class, throttled::join).getCause() instanceof UpstreamException);
+        assertTrue(assertThrows(CompletionException.class, next::join).getCause() instanceof RateLimitedException);
+    }
+
+    @Test
+    void testNonPositiveRateDisablesTheLimit() {
+        RateLimiter rateLimiter = new RateLimiter(0, 1, Duration.ZERO, meterRegistry);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals("call", rateLimiter.execute(RateLimiter.Priority.ROSTER, () -> CompletableFuture.completedFuture("call")).join());
+        }
+        assertEquals(0, rateLimiter.getThrottledCount(RateLimiter.Priority.ROSTER));
+    }
+
+    private static CompletableFuture<RateLimiter.Priority> record(List<RateLimiter.Priority> started, RateLimiter.Priority priority) {
+        started.add(priority);
+        return CompletableFuture.completedFuture(priority);
+    }
+}
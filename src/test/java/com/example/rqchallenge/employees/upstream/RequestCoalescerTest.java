@@ -0,0 +1,67 @@
+package com.example.rqchallenge.employees.upstream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    private final RequestCoalescer<String, String> coalescer = new RequestCoalescer<>("test", new SimpleMeterRegistry());
+
+    @Test
+    void testConcurrentCallersShareOneInFlightCall() {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = coalescer.execute("1", () -> {
+            calls.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<String> second = coalescer.execute("1", () -> {
+            calls.incrementAndGet();
+            return upstream;
+        });
+        upstream.complete("John Doe");
+
+        assertEquals("John Doe", first.join());
+        assertEquals("John Doe", second.join());
+        assertEquals(1, calls.get());
+        assertEquals(1, coalescer.getDispatchedCount());
+        assertEquals(1, coalescer.getCoalescedCount());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    void testDifferentKeysAreNotCoalesced() {
+        coalescer.execute("1", () -> new CompletableFuture<>());
+        coalescer.execute("2", () -> new CompletableFuture<>());
+
+        assertEquals(2, coalescer.getDispatchedCount());
+        assertEquals(0, coalescer.getCoalescedCount());
+        assertEquals(2, coalescer.getInFlightCount());
+    }
+
+    @Test
+    void testCompletedCallReleasesKey() {
+        coalescer.execute("1", () -> CompletableFuture.completedFuture("first")).join();
+        String second = coalescer.execute("1", () -> CompletableFuture.completedFuture("second")).join();
+
+        assertEquals("second", second);
+        assertEquals(2, coalescer.getDispatchedCount());
+    }
+
+    @Test
+    void testFailureIsSharedAndReleasesKey() {
+        CompletableFuture<String> failed = coalescer.execute("1", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertThrows(CompletionException.class, failed::join);
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.rqchallenge.employees.upstream;
+
+import com.example.rqchallenge.config.EmployeeProperties;
+import com.example.rqchallenge.employees.model.EmployeeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class RestTemplateEmployeeClientTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RestTemplateEmployeeClient client;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        client = new RestTemplateEmployeeClient(restTemplate, new EmployeeProperties(), meterRegistry);
+    }
+
+    @Test
+    void testGetEmployees() {
+        EmployeeResponse body = new EmployeeResponse();
+        when(restTemplate.getForEntity("https://dummy.restapiexample.com/api/v1/employees", EmployeeResponse.class))
+                .thenReturn(new ResponseEntity<>(body, HttpStatus.OK));
+
+        assertSame(body, client.getEmployees().join().getBody());
+    }
+
+    @Test
+    void testRequestsGoToConfiguredBaseUrl() {
+        EmployeeProperties properties = new EmployeeProperties();
+        properties.getUpstream().setBaseUrl("http://localhost:8089/api/v1");
+        RestTemplateEmployeeClient configured = new RestTemplateEmployeeClient(restTemplate, properties, meterRegistry);
+        EmployeeResponse body = new EmployeeResponse();
+        when(restTemplate.getForEntity("http://localhost:8089/api/v1/employees", EmployeeResponse.class))
+                .thenReturn(new ResponseEntity<>(body, HttpStatus.OK));
+
+        assertSame(body, configured.getEmployees().join().getBody());
+    }
+
+    @Test
+    void testErrorStatusFailsWithUpstreamException() {
+        when(restTemplate.getForEntity("https://dummy.restapiexample.com/api/v1/employees", EmployeeResponse.class))
+                .thenThrow(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
+
+        CompletionException error = assertThrows(CompletionException.class, () -> client.getEmployees().join());
+
+        assertTrue(error.getCause() instanceof UpstreamException);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ((UpstreamException) error.getCause()).getStatus());
+    }
+
+    @Test
+    void testExecutorPublishesActiveThreadsAndQueueDepth() {
+        when(restTemplate.getForEntity("https://dummy.restapiexample.com/api/v1/employees", EmployeeResponse.class))
+                .thenReturn(new ResponseEntity<>(new EmployeeResponse(), HttpStatus.OK));
+
+        client.getEmployees().join();
+
+        assertNotNull(meterRegistry.find("executor.active").tag("name", "employees.upstream").gauge());
+        assertEquals(0, meterRegistry.get("executor.queued").tag("name", "employees.upstream").gauge().value());
+        assertEquals(1, meterRegistry.get("executor.pool.size").tag("name", "employees.upstream").gauge().value());
+    }
+}
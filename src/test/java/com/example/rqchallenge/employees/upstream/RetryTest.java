@@ -0,0 +1,66 @@
+package com.example.rqchallenge.employees.upstream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Retry retry = new Retry("test", 3, Duration.ofMillis(10), Duration.ofMillis(25), meterRegistry);
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @Test
+    void testTransientFailureIsRetriedUntilSuccess() {
+        String result = retry.execute(() -> attempts.incrementAndGet() < 3
+                ? CompletableFuture.<String>failedFuture(new UpstreamException(HttpStatus.TOO_MANY_REQUESTS, "throttled"))
+                : CompletableFuture.completedFuture("ok")).join();
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, retry.getRetryCount());
+    }
+
+    @Test
+    void testGivesUpAfterMaxAttempts() {
+        CompletableFuture<String> result = retry.execute(() -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(new UpstreamException(HttpStatus.SERVICE_UNAVAILABLE, "down"));
+        });
+
+        CompletionException error = assertThrows(CompletionException.class, result::join);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ((UpstreamException) error.getCause()).getStatus());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void testClientErrorsAndLocalRejectionsAreNotRetried() {
+        assertThrows(CompletionException.class, () -> retry.execute(() -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(new UpstreamException(HttpStatus.NOT_FOUND, "missing"));
+        }).join());
+        assertThrows(CompletionException.class, () -> retry.execute(() -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(new CircuitOpenException("test", Duration.ofSeconds(1)));
+        }).join());
+
+        assertEquals(2, attempts.get());
+        assertEquals(0, retry.getRetryCount());
+    }
+
+    @Test
+    void testBackoffIsJitteredWithinExponentialCap() {
+        for (int i = 0; i < 100; i++) {
+            assertTrue(retry.backoff(1).compareTo(Duration.ofMillis(10)) <= 0);
+            assertTrue(retry.backoff(2).compareTo(Duration.ofMillis(20)) <= 0);
+            assertTrue(retry.backoff(5).compareTo(Duration.ofMillis(25)) <= 0);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.rqchallenge.employees.upstream;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeRecord;
+import com.example.rqchallenge.employees.model.EmployeeResponse;
+import com.example.rqchallenge.employees.model.SalaryLeaders;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryLeadersParserTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testParseOrdersBySalaryDescendingKeepingRosterOrderForTies() throws IOException {
+        SalaryLeaders leaders = parse("{\"status\":\"success\",\"data\":["
+                + employee("1", "Low", "\"100\"", "\"30\"") + ","
+                + employee("2", "High", "\"300\"", "\"30\"") + ","
+                + employee("3", "Tied first", "\"200\"", "\"30\"") + ","
+                + employee("4", "Tied second", "200", "30") + "]}", 3);
+
+        assertEquals(300, leaders.getHighestSalary());
+        assertEquals(List.of("High", "Tied first", "Tied second"), leaders.getTopEarnerNames());
+    }
+
+    @Test
+    void testParseSkipsMalformedEmployees() throws IOException {
+        SalaryLeaders leaders = parse("{\"data\":["
+                + employee("1", "Missing", "null", "\"30\"") + ","
+                + employee("2", "Text", "\"lots\"", "\"30\"") + ","
+                + employee("3", "Overflow", "\"2147483648\"", "\"30\"") + ","
+                + employee("4", "No age", "\"900\"", "\"\"") + ","
+                + employee("5", "Valid", "\" 50 \"", "\"30\"") + "],\"status\":\"success\"}", 10);
+
+        assertEquals(50, leaders.getHighestSalary());
+        assertEquals(List.of("Valid"), leaders.getTopEarnerNames());
+    }
+
+    @Test
+    void testNestedSalaryOrAgeSkipsTheEmployeeWithoutLosingItsPlace() throws IOException {
+        SalaryLeaders leaders = parse("{\"data\":["
+                + employee("1", "Object", "{\"amount\":\"900\",\"employee_name\":\"Inner\"}", "\"30\"") + ","
+                + employee("2", "Array", "\"800\"", "[\"30\",{\"employee_salary\":\"950\"}]") + ","
+                + employee("3", "Valid", "\"50\"", "\"30\"") + "],\"status\":\"success\"}", 10);
+
+        assertEquals(50, leaders.getHighestSalary());
+        assertEquals(List.of("Valid"), leaders.getTopEarnerNames());
+    }
+
+    @Test
+    void testNonObjectElementsAreSkippedWithoutEndingTheRoster() throws IOException {
+        SalaryLeaders leaders = parse("{\"data\":["
+                + employee("1", "Before", "\"100\"", "\"30\"") + ",null,\"text\",[" + employee("2", "Nested", "\"900\"", "\"30\"") + "],"
+                + employee("3", "After", "\"200\"", "\"30\"") + "],\"status\":\"success\"}", 10);
+
+        assertEquals(200, leaders.getHighestSalary());
+        assertEquals(List.of("After", "Before"), leaders.getTopEarnerNames());
+    }
+
+    @Test
+    void testEmptyRoster() throws IOException {
+        SalaryLeaders leaders = parse("{\"status\":\"success\",\"data\":[]}", 10);
+
+        assertEquals(0, leaders.getHighestSalary());
+        assertTrue(leaders.getTopEarnerNames().isEmpty());
+    }
+
+    @Test
+    void testParseIntMatchesIntegerParseInt() {
+        for (String value : List.of("0", "-7", "+7", " 42 ", "2147483647", "-2147483648", "2147483648", "", " ", "-", "4 2", "1.5")) {
+            long expected;
+            try {
+                expected = Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                expected = Long.MIN_VALUE;
+            }
+            char[] chars = ("xx" + value + "yy").toCharArray();
+            assertEquals(expected, SalaryLeadersParser.parseInt(chars, 2, value.length()), value);
+        }
+    }
+
+    @Test
+    void testParseMatchesSalaryIndexOnRandomRoster() throws IOException {
+        List<Employee> roster = randomRoster(5_000, new Random(7));
+        byte[] body = objectMapper.writeValueAsBytes(response(roster));
+
+        SalaryLeaders leaders = SalaryLeadersParser.parse(new ByteArrayInputStream(body), 10);
+        SalaryLeaders expected = materialize(body, 10);
+
+        assertEquals(expected.getHighestSalary(), leaders.getHighestSalary());
+        assertEquals(expected.getTopEarnerNames(), leaders.getTopEarnerNames());
+    }
+
+    @Test
+    void testParseAllocatesFarLessThanMaterializingTheRoster() throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        byte[] body = objectMapper.writeValueAsBytes(response(randomRoster(50_000, new Random(11))));
+        for (int i = 0; i < 3; i++) {
+            SalaryLeadersParser.parse(new ByteArrayInputStream(body), 10);
+            materialize(body, 10);
+        }
+
+        long before = threads.getThreadAllocatedBytes(thread);
+        SalaryLeadersParser.parse(new ByteArrayInputStream(body), 10);
+        long streaming = threads.getThreadAllocatedBytes(thread) - before;
+
+        before = threads.getThreadAllocatedBytes(thread);
+        materialize(body, 10);
+        long materializing = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertTrue(streaming * 10 < materializing, "streaming allocated " + streaming + " bytes, materializing " + materializing);
+    }
+
+    /**
+     * The snapshot path: bind the whole roster, ingest every record and sort it by salary.
+     */
+    private SalaryLeaders materialize(byte[] body, int limit) throws IOException {
+        EmployeeResponse response = objectMapper.readValue(body, EmployeeResponse.class);
+        List<EmployeeRecord> records = new ArrayList<>();
+        for (Employee employee : response.getData()) {
+            try {
+                records.add(EmployeeRecord.from(employee));
+            } catch (IllegalArgumentException e) {
+                // quarantined, as in RosterSnapshot
+            }
+        }
+        records.sort(Comparator.comparingInt(EmployeeRecord::getSalary).reversed());
+        List<String> names = new ArrayList<>();
+        for (EmployeeRecord record : records.subList(0, Math.min(limit, records.size()))) {
+            names.add(record.getName());
+        }
+        return new SalaryLeaders(records.isEmpty() ? 0 : records.get(0).getSalary(), names);
+    }
+
+    private static SalaryLeaders parse(String body, int limit) throws IOException {
+        return SalaryLeadersParser.parse(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), limit);
+    }
+
+    private static String employee(String id, String name, String salary, String age) {
+        return "{\"id\":\"" + id + "\",\"employee_name\":\"" + name + "\",\"employee_salary\":" + salary
+                + ",\"employee_age\":" + age + ",\"profile_image\":\"\"}";
+    }
+
+    private static List<Employee> randomRoster(int size, Random random) {
+        List<Employee> roster = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String salary = random.nextInt(50) == 0 ? "n/a" : String.valueOf(random.nextInt(1_000) * 100);
+            roster.add(new Employee(String.valueOf(i), "Employee " + i, salary, String.valueOf(20 + random.nextInt(45)), ""));
+        }
+        return roster;
+    }
+
+    private static EmployeeResponse response(List<Employee> roster) {
+        EmployeeResponse response = new EmployeeResponse();
+        response.setStatus("success");
+        response.setData(roster);
+        return response;
+    }
+}
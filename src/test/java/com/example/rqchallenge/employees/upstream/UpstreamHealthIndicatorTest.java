@@ -0,0 +1,39 @@
+package com.example.rqchallenge.employees.upstream;
+
+import com.example.rqchallenge.config.EmployeeProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UpstreamHealthIndicatorTest {
+
+    @Test
+    void testReportsCircuitStatePerRoute() {
+        EmployeeProperties properties = new EmployeeProperties();
+        properties.getBreaker().setFailureThreshold(1);
+        properties.getRetry().setMaxAttempts(1);
+        EmployeeClient transport = mock(EmployeeClient.class);
+        when(transport.deleteEmployee("1")).thenReturn(CompletableFuture.failedFuture(new UpstreamException(HttpStatus.BAD_GATEWAY, "down")));
+        ResilientEmployeeClient client = new ResilientEmployeeClient(transport, properties, new SimpleMeterRegistry());
+        UpstreamHealthIndicator indicator = new UpstreamHealthIndicator(client);
+
+        assertEquals(Status.UP, indicator.health().getStatus());
+
+        client.deleteEmployee("1").exceptionally(e -> null).join();
+        Health health = indicator.health();
+
+        assertEquals(UpstreamHealthIndicator.DEGRADED, health.getStatus());
+        Map<?, ?> circuits = (Map<?, ?>) health.getDetails().get("circuits");
+        assertEquals(CircuitBreaker.State.OPEN, ((Map<?, ?>) circuits.get("delete")).get("state"));
+        assertEquals(CircuitBreaker.State.CLOSED, ((Map<?, ?>) circuits.get("employees")).get("state"));
+    }
+}
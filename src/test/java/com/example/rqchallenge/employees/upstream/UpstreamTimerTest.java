@@ -0,0 +1,43 @@
+package com.example.rqchallenge.employees.upstream;
+
+import com.example.rqchallenge.employees.model.SalaryLeaders;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.net.http.HttpTimeoutException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamTimerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UpstreamTimer timer = new UpstreamTimer("employees", meterRegistry);
+
+    @Test
+    void testTagsResponsesByStatusAndOutcome() {
+        timer.execute(() -> CompletableFuture.completedFuture(ResponseEntity.ok("roster"))).join();
+        timer.execute(() -> CompletableFuture.completedFuture(new SalaryLeaders(1, List.of("a")))).join();
+        timer.execute(() -> CompletableFuture.failedFuture(new UpstreamException(HttpStatus.TOO_MANY_REQUESTS, "slow down"))).handle((r, e) -> r).join();
+
+        assertEquals(2, count("200", "SUCCESS"));
+        assertEquals(1, count("429", "CLIENT_ERROR"));
+    }
+
+    @Test
+    void testCallsWithoutResponseAreTaggedWithTheError() {
+        timer.execute(() -> CompletableFuture.failedFuture(new HttpTimeoutException("request timed out"))).handle((r, e) -> r).join();
+
+        assertEquals(1, count("HttpTimeoutException", "UNKNOWN"));
+    }
+
+    private long count(String status, String outcome) {
+        return meterRegistry.get("employees.upstream.requests")
+                .tags("route", "employees", "status", status, "outcome", outcome)
+                .timer()
+                .count();
+    }
+}